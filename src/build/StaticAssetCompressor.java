@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes {@code .gz} and {@code .br} variants next to the compressible static resources
+ * of the build output, for Spring's {@code EncodedResourceResolver} to serve. Run by
+ * Maven and Gradle after the resources are processed, as a single-file program:
+ *
+ * <pre class="code">
+ * java src/build/StaticAssetCompressor.java target/classes/static
+ * </pre>
+ *
+ * Brotli needs the {@code brotli} command line tool; without it only gzip variants are
+ * written. Variants that would not be smaller, or that are newer than their resource,
+ * are skipped.
+ */
+public class StaticAssetCompressor {
+
+	private static final Set<String> COMPRESSIBLE = Set.of("css", "js", "svg", "eot", "ttf", "html", "json",
+			"txt", "xml", "map", "ico");
+
+	public static void main(String[] args) throws Exception {
+		Path root = Path.of(args[0]);
+		if (!Files.isDirectory(root)) {
+			return;
+		}
+		boolean brotli = hasBrotli();
+		List<Path> resources;
+		try (Stream<Path> files = Files.walk(root)) {
+			resources = files.filter(Files::isRegularFile).filter(StaticAssetCompressor::isCompressible).toList();
+		}
+		long original = 0;
+		long gzipped = 0;
+		for (Path resource : resources) {
+			original += Files.size(resource);
+			gzipped += Files.size(gzip(resource));
+			if (brotli) {
+				brotli(resource);
+			}
+		}
+		System.out.printf("Compressed %d static resources from %d to %d bytes with gzip%s%n", resources.size(),
+				original, gzipped, brotli ? " and brotli" : ", brotli is not installed");
+	}
+
+	private static boolean isCompressible(Path file) {
+		String name = file.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		return dot > 0 && COMPRESSIBLE.contains(name.substring(dot + 1));
+	}
+
+	private static Path gzip(Path resource) throws IOException {
+		Path variant = resource.resolveSibling(resource.getFileName() + ".gz");
+		if (isUpToDate(resource, variant)) {
+			return variant;
+		}
+		Path temp = Files.createTempFile(resource.getParent(), "gzip", ".tmp");
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp)) {
+			{
+				this.def.setLevel(Deflater.BEST_COMPRESSION);
+			}
+		}) {
+			Files.copy(resource, out);
+		}
+		return keepIfSmaller(resource, temp, variant);
+	}
+
+	private static void brotli(Path resource) throws IOException, InterruptedException {
+		Path variant = resource.resolveSibling(resource.getFileName() + ".br");
+		if (isUpToDate(resource, variant)) {
+			return;
+		}
+		Path temp = Files.createTempFile(resource.getParent(), "brotli", ".tmp");
+		Process process = new ProcessBuilder("brotli", "--best", "--force", "--output=" + temp, resource.toString())
+			.inheritIO()
+			.start();
+		if (!process.waitFor(1, TimeUnit.MINUTES) || process.exitValue() != 0) {
+			Files.deleteIfExists(temp);
+			throw new IOException("brotli failed for " + resource);
+		}
+		keepIfSmaller(resource, temp, variant);
+	}
+
+	private static Path keepIfSmaller(Path resource, Path temp, Path variant) throws IOException {
+		if (Files.size(temp) < Files.size(resource)) {
+			return Files.move(temp, variant, StandardCopyOption.REPLACE_EXISTING);
+		}
+		Files.delete(temp);
+		Files.deleteIfExists(variant);
+		return resource;
+	}
+
+	private static boolean isUpToDate(Path resource, Path variant) throws IOException {
+		return Files.exists(variant)
+				&& Files.getLastModifiedTime(variant).compareTo(Files.getLastModifiedTime(resource)) >= 0;
+	}
+
+	private static boolean hasBrotli() {
+		try {
+			Process process = new ProcessBuilder("brotli", "--version").start();
+			return process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0;
+		}
+		catch (IOException | InterruptedException ex) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.samples.petclinic.owner.Pet;
+import org.springframework.samples.petclinic.owner.PetType;
+import org.springframework.samples.petclinic.owner.Visit;
+import org.springframework.samples.petclinic.system.ClinicDataGenerator;
+import org.springframework.samples.petclinic.system.ClinicDataWriter;
+import org.springframework.samples.petclinic.vet.Specialty;
+import org.springframework.samples.petclinic.vet.Vet;
+
+/**
+ * Deterministic in-memory clinic shared by the benchmarks, built from the rows of a
+ * {@link ClinicDataGenerator} with seed 42. The number of owners is a benchmark
+ * parameter; every owner gets one to three pets with up to two visits each, and there is
+ * one vet per hundred owners.
+ */
+@State(Scope.Benchmark)
+public class SyntheticClinic implements ClinicDataWriter {
+
+	private static final String[] TYPE_NAMES = { "cat", "dog", "lizard", "snake", "bird", "hamster" };
+
+	private static final String[] SPECIALTY_NAMES = { "radiology", "surgery", "dentistry" };
+
+	@Param({ "1000", "100000", "1000000" })
+	public int owners;
+
+	private final List<PetType> types = new ArrayList<>();
+
+	private final List<Specialty> specialties = new ArrayList<>();
+
+	private final List<Owner> ownerList = new ArrayList<>();
+
+	private final List<Pet> petList = new ArrayList<>();
+
+	private final List<Vet> vetList = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		for (int i = 0; i < TYPE_NAMES.length; i++) {
+			PetType type = new PetType();
+			type.setId(i + 1);
+			type.setName(TYPE_NAMES[i]);
+			this.types.add(type);
+		}
+		for (int i = 0; i < SPECIALTY_NAMES.length; i++) {
+			Specialty specialty = new Specialty();
+			specialty.setId(i + 1);
+			specialty.setName(SPECIALTY_NAMES[i]);
+			this.specialties.add(specialty);
+		}
+		new ClinicDataGenerator(42, LocalDate.now()).generate(this.owners, 2, 1, this);
+		// only needed to resolve the owners of pets and visits while generating
+		this.petList.clear();
+	}
+
+	@Override
+	public int firstId(Table table) {
+		return 1;
+	}
+
+	@Override
+	public void write(Table table, List<Object[]> rows) {
+		for (Object[] row : rows) {
+			switch (table) {
+				case OWNERS -> {
+					Owner owner = new Owner();
+					owner.setId((Integer) row[0]);
+					owner.setFirstName((String) row[1]);
+					owner.setLastName((String) row[2]);
+					owner.setAddress((String) row[3]);
+					owner.setCity((String) row[4]);
+					owner.setTelephone((String) row[5]);
+					this.ownerList.add(owner);
+				}
+				case PETS -> {
+					Pet pet = new Pet();
+					pet.setName((String) row[1]);
+					pet.setBirthDate((LocalDate) row[2]);
+					pet.setType(this.types.get((Integer) row[3] - 1));
+					this.ownerList.get((Integer) row[4] - 1).addPet(pet);
+					pet.setId((Integer) row[0]);
+					this.petList.add(pet);
+				}
+				case VISITS -> {
+					Visit visit = new Visit();
+					visit.setId((Integer) row[0]);
+					visit.setDate((LocalDate) row[2]);
+					visit.setDescription((String) row[3]);
+					this.petList.get((Integer) row[1] - 1).addVisit(visit);
+				}
+				case VETS -> {
+					Vet vet = new Vet();
+					vet.setId((Integer) row[0]);
+					vet.setFirstName((String) row[1]);
+					vet.setLastName((String) row[2]);
+					this.vetList.add(vet);
+				}
+				case VET_SPECIALTIES ->
+					this.vetList.get((Integer) row[0] - 1).addSpecialty(this.specialties.get((Integer) row[1] - 1));
+			}
+		}
+	}
+
+	@Override
+	public void finish(Map<Table, Integer> nextIds) {
+	}
+
+	public List<PetType> getTypes() {
+		return this.types;
+	}
+
+	public List<Owner> getOwners() {
+		return this.ownerList;
+	}
+
+	public List<Vet> getVets() {
+		return this.vetList;
+	}
+
+}
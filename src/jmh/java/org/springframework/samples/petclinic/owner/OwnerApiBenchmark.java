@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.samples.petclinic.SyntheticClinic;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Benchmarks serializing a full page of owners for the JSON API, once as the
+ * {@link Owner} entities with their pets and visits, as the {@code /vets} endpoint does
+ * for vets, and once as the flat {@link OwnerDto} and {@link PetDto} records that
+ * {@link OwnerApiController} returns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class OwnerApiBenchmark {
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	private List<Owner> entities;
+
+	private List<OwnerDto> owners;
+
+	private List<PetDto> pets;
+
+	@Setup(Level.Trial)
+	public void setUp(SyntheticClinic clinic) {
+		this.entities = clinic.getOwners().subList(0, OwnerApiController.MAX_PAGE_SIZE);
+		this.owners = new ArrayList<>();
+		this.pets = new ArrayList<>();
+		for (Owner owner : this.entities) {
+			this.owners.add(new OwnerDto(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+					owner.getCity(), owner.getTelephone()));
+			for (Pet pet : owner.getPets()) {
+				this.pets.add(new PetDto(pet.getId(), owner.getId(), pet.getName(), pet.getBirthDate(),
+						pet.getType().getName()));
+			}
+		}
+	}
+
+	@Benchmark
+	public byte[] serializeEntities() {
+		return this.jsonMapper.writeValueAsBytes(this.entities);
+	}
+
+	@Benchmark
+	public byte[] serializeOwnerDtos() {
+		return this.jsonMapper.writeValueAsBytes(this.owners);
+	}
+
+	@Benchmark
+	public byte[] serializeOwnerAndPetDtos() {
+		return this.jsonMapper.writeValueAsBytes(List.of(this.owners, this.pets));
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.samples.petclinic.SyntheticClinic;
+
+/**
+ * Benchmarks {@link Owner#getPet(String, boolean)} across every owner of the clinic, the
+ * lookup behind the duplicate-name check when a pet is added or renamed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OwnerBenchmark {
+
+	@Benchmark
+	public void getPetByNameIgnoringNew(SyntheticClinic clinic, Blackhole blackhole) {
+		for (Owner owner : clinic.getOwners()) {
+			blackhole.consume(owner.getPet("lucky", true));
+		}
+	}
+
+	@Benchmark
+	public void getPetByNameMissing(SyntheticClinic clinic, Blackhole blackhole) {
+		for (Owner owner : clinic.getOwners()) {
+			blackhole.consume(owner.getPet("Nobody", false));
+		}
+	}
+
+}
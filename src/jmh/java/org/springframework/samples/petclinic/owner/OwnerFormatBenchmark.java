@@ -0,0 +1,167 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.samples.petclinic.SyntheticClinic;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Benchmarks encoding a full page of {@link OwnerDto owners} of the
+ * {@link OwnerApiController API} in each format it is served in. The payload size of
+ * each format, plain and gzipped, is reported along with the time as the secondary results
+ * {@code encode:bytes} and {@code encode:gzippedBytes}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class OwnerFormatBenchmark {
+
+	@Param({ "json", "cbor", "smile", "csv" })
+	public String format;
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	private final OwnerApiCsvConverter csvConverter = new OwnerApiCsvConverter();
+
+	private ObjectMapper mapper;
+
+	private OwnerApiController.Page<OwnerDto> page;
+
+	@Setup(Level.Trial)
+	public void setUp(SyntheticClinic clinic) {
+		List<OwnerDto> owners = new ArrayList<>();
+		for (Owner owner : clinic.getOwners().subList(0, OwnerApiController.MAX_PAGE_SIZE)) {
+			owners.add(new OwnerDto(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+					owner.getCity(), owner.getTelephone()));
+		}
+		this.page = new OwnerApiController.Page<>(owners, owners.get(owners.size() - 1).id());
+		this.mapper = switch (this.format) {
+			case "cbor" -> CBORMapper.builder().build();
+			case "smile" -> SmileMapper.builder().build();
+			default -> this.jsonMapper;
+		};
+	}
+
+	@Benchmark
+	public byte[] encode(PayloadSize size) {
+		return serialize();
+	}
+
+	private byte[] serialize() {
+		if (!"csv".equals(this.format)) {
+			return this.mapper.writeValueAsBytes(this.page);
+		}
+		BufferedMessage message = new BufferedMessage();
+		try {
+			this.csvConverter.write(this.page, MediaType.parseMediaType("text/csv"), message);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return message.body.toByteArray();
+	}
+
+	private static byte[] gzip(byte[] body) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * The size of the encoded page. Measured once per iteration and reported through
+	 * accessors, as JMH resets counter fields before each iteration.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class PayloadSize {
+
+		private long bytes;
+
+		private long gzippedBytes;
+
+		@Setup(Level.Iteration)
+		public void measure(OwnerFormatBenchmark benchmark) {
+			byte[] body = benchmark.serialize();
+			this.bytes = body.length;
+			this.gzippedBytes = gzip(body).length;
+		}
+
+		public long bytes() {
+			return this.bytes;
+		}
+
+		public long gzippedBytes() {
+			return this.gzippedBytes;
+		}
+
+	}
+
+	private static final class BufferedMessage implements HttpOutputMessage {
+
+		private final HttpHeaders headers = new HttpHeaders();
+
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+		@Override
+		public OutputStream getBody() {
+			return this.body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmarks {@link PetTypeFormatter#parse(String, Locale)}, which runs for every pet
+ * form submission. The repository is a mock returning a fixed list of types, so only the
+ * formatter itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PetTypeFormatterBenchmark {
+
+	private PetTypeFormatter formatter;
+
+	@Setup
+	public void setUp() {
+		List<PetType> types = List.of("bird", "cat", "dog", "hamster", "lizard", "snake").stream().map(name -> {
+			PetType type = new PetType();
+			type.setName(name);
+			return type;
+		}).toList();
+		PetTypeRepository repository = mock(PetTypeRepository.class);
+		given(repository.findPetTypes()).willReturn(types);
+		this.formatter = new PetTypeFormatter(repository);
+	}
+
+	@Benchmark
+	public PetType parseFirst() throws ParseException {
+		return this.formatter.parse("bird", Locale.ENGLISH);
+	}
+
+	@Benchmark
+	public PetType parseLast() throws ParseException {
+		return this.formatter.parse("snake", Locale.ENGLISH);
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.jpa.HibernateHints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Benchmarks loading owners with their pets and visits for rendering, once into a normal
+ * persistence context and once read-only, through the Hibernate query hint or a
+ * read-only transaction. Run it with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per load: a read-only load keeps no
+ * snapshot of the loaded state and skips dirty checking when the transaction ends.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ReadOnlySessionBenchmark {
+
+	private static final String OWNERS_QUERY = """
+			SELECT DISTINCT o FROM Owner o LEFT JOIN FETCH o.pets p LEFT JOIN FETCH p.visits
+			WHERE o.id <= :last""";
+
+	/**
+	 * The number of owners loaded at once, each with two pets of four visits.
+	 */
+	@Param({ "1", "50" })
+	public int owners;
+
+	private ConfigurableApplicationContext context;
+
+	private EntityManager entityManager;
+
+	private TransactionTemplate readWrite;
+
+	private TransactionTemplate readOnly;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.context = new SpringApplicationBuilder(PetClinicApplication.class).web(WebApplicationType.NONE)
+			.run("--spring.datasource.url=jdbc:h2:mem:read-only-benchmark", "--petclinic.datagen.owners=1000",
+					"--spring.docker.compose.enabled=false",
+					"--logging.level.root=WARN");
+		this.entityManager = this.context.getBean(EntityManager.class);
+		PlatformTransactionManager transactionManager = this.context.getBean(PlatformTransactionManager.class);
+		this.readWrite = new TransactionTemplate(transactionManager);
+		this.readOnly = new TransactionTemplate(transactionManager);
+		this.readOnly.setReadOnly(true);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public List<Owner> readWriteTransaction() {
+		return this.readWrite.execute((status) -> load(false));
+	}
+
+	@Benchmark
+	public List<Owner> readOnlyQueryHint() {
+		return this.readWrite.execute((status) -> load(true));
+	}
+
+	@Benchmark
+	public List<Owner> readOnlyTransaction() {
+		return this.readOnly.execute((status) -> load(false));
+	}
+
+	private List<Owner> load(boolean readOnlyHint) {
+		// the generated owners follow the ten of the sample data
+		return this.entityManager.createQuery(OWNERS_QUERY, Owner.class)
+			.setParameter("last", 10 + this.owners)
+			.setHint(HibernateHints.HINT_READ_ONLY, readOnlyHint)
+			.getResultList();
+	}
+
+}
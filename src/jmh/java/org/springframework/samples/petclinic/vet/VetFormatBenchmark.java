@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.samples.petclinic.SyntheticClinic;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Benchmarks encoding the {@code /vets} resource in each format it is served in. The
+ * payload size of each format, plain and gzipped, is reported along with the time as the
+ * secondary results {@code encode:bytes} and {@code encode:gzippedBytes}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class VetFormatBenchmark {
+
+	@Param({ "application/json", "application/xml", "application/cbor", "application/x-jackson-smile", "text/csv" })
+	public String format;
+
+	private VetRepresentations representations;
+
+	private MediaType mediaType;
+
+	private final Vets vets = new Vets();
+
+	@Setup(Level.Trial)
+	public void setUp(SyntheticClinic clinic) {
+		this.vets.getVetList().addAll(clinic.getVets());
+		this.representations = new VetRepresentations(new VetRepository() {
+
+			@Override
+			public Collection<Vet> findAll() {
+				return clinic.getVets();
+			}
+
+			@Override
+			public Page<Vet> findAll(Pageable pageable) {
+				List<Vet> vets = clinic.getVets();
+				int from = (int) Math.min(pageable.getOffset(), vets.size());
+				int to = Math.min(from + pageable.getPageSize(), vets.size());
+				return new PageImpl<>(vets.subList(from, to), pageable, vets.size());
+			}
+
+		}, JsonMapper.builder().build());
+		this.mediaType = MediaType.parseMediaType(this.format);
+	}
+
+	@Benchmark
+	public byte[] encode(PayloadSize size) {
+		return serialize();
+	}
+
+	private byte[] serialize() {
+		return this.representations.serialize(this.vets, this.mediaType);
+	}
+
+	private static byte[] gzip(byte[] body) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * The size of the encoded vets. Measured once per iteration and reported through
+	 * accessors, as JMH resets counter fields before each iteration.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class PayloadSize {
+
+		private long bytes;
+
+		private long gzippedBytes;
+
+		@Setup(Level.Iteration)
+		public void measure(VetFormatBenchmark benchmark) {
+			byte[] body = benchmark.serialize();
+			this.bytes = body.length;
+			this.gzippedBytes = gzip(body).length;
+		}
+
+		public long bytes() {
+			return this.bytes;
+		}
+
+		public long gzippedBytes() {
+			return this.gzippedBytes;
+		}
+
+	}
+
+}
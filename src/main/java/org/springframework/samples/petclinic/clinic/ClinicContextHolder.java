@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.clinic;
+
+/**
+ * Holds the id of the clinic the current thread works for. Requests are bound to their
+ * clinic by the {@link ClinicFilter}; work outside of a request, such as scheduled jobs
+ * and commands, runs for the {@link #DEFAULT_CLINIC_ID default clinic}.
+ *
+ * @see ClinicTenantIdentifierResolver
+ */
+public abstract class ClinicContextHolder {
+
+	/**
+	 * The id of the clinic that every existing owner, vet and visit belongs to, and that
+	 * requests from unknown hosts are served for.
+	 */
+	public static final int DEFAULT_CLINIC_ID = 1;
+
+	private static final ThreadLocal<Integer> clinicId = new ThreadLocal<>();
+
+	/**
+	 * Return the id of the clinic of the current thread, or the default clinic if none is
+	 * bound.
+	 */
+	public static int getClinicId() {
+		Integer id = clinicId.get();
+		return (id != null) ? id : DEFAULT_CLINIC_ID;
+	}
+
+	/**
+	 * Bind the given clinic to the current thread.
+	 * @param id the clinic id, or {@code null} to reset to the default clinic
+	 */
+	public static void setClinicId(Integer id) {
+		if (id != null) {
+			clinicId.set(id);
+		}
+		else {
+			clinicId.remove();
+		}
+	}
+
+	/**
+	 * Reset the current thread to the default clinic.
+	 */
+	public static void resetClinicId() {
+		clinicId.remove();
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.clinic;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Resolves the clinic of every request from its host name and binds it to the
+ * {@link ClinicContextHolder} while the request is handled.
+ * <p>
+ * The host names are read from the {@code host} column of the {@code clinics} table, and
+ * read again every {@code petclinic.clinics.refresh-interval} (1 minute), so a new clinic
+ * is served without a restart. Requests for any other host are served for the default
+ * clinic.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ClinicFilter extends OncePerRequestFilter {
+
+	private static final String HOSTS_QUERY = "SELECT host, id FROM clinics WHERE host IS NOT NULL";
+
+	private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+
+	private final long refreshInterval;
+
+	private volatile Hosts hosts;
+
+	public ClinicFilter(ObjectProvider<JdbcTemplate> jdbcTemplate,
+			@Value("${petclinic.clinics.refresh-interval:1m}") Duration refreshInterval) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.refreshInterval = refreshInterval.toNanos();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		ClinicContextHolder.setClinicId(resolveClinicId(request.getServerName()));
+		try {
+			chain.doFilter(request, response);
+		}
+		finally {
+			ClinicContextHolder.resetClinicId();
+		}
+	}
+
+	/**
+	 * Return the id of the clinic served under the given host name, or {@code null} for
+	 * the default clinic.
+	 * @param host the host name of the request
+	 */
+	Integer resolveClinicId(String host) {
+		return (host != null) ? hosts().clinics().get(host.toLowerCase(Locale.ROOT)) : null;
+	}
+
+	private Hosts hosts() {
+		Hosts hosts = this.hosts;
+		long now = System.nanoTime();
+		if (hosts == null || now - hosts.loadedAt() > this.refreshInterval) {
+			hosts = new Hosts(loadHosts(), now);
+			this.hosts = hosts;
+		}
+		return hosts;
+	}
+
+	private Map<String, Integer> loadHosts() {
+		Map<String, Integer> clinics = new HashMap<>();
+		// web slices of the tests run without a database, and only know the
+		// default clinic
+		JdbcTemplate jdbcTemplate = this.jdbcTemplate.getIfAvailable();
+		if (jdbcTemplate != null) {
+			jdbcTemplate.query(HOSTS_QUERY,
+					(RowCallbackHandler) (rs) -> clinics.put(rs.getString(1).toLowerCase(Locale.ROOT), rs.getInt(2)));
+		}
+		return clinics;
+	}
+
+	private record Hosts(Map<String, Integer> clinics, long loadedAt) {
+
+	}
+
+}
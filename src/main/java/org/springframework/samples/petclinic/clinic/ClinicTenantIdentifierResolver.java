@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.clinic;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Tells Hibernate which clinic a new session works for. Owners, vets and visits carry
+ * their clinic in a {@link org.hibernate.annotations.TenantId @TenantId} column, so
+ * Hibernate only reads the rows of the current clinic and writes new ones for it.
+ * <p>
+ * Configured with {@code spring.jpa.properties.hibernate.tenant_identifier_resolver} so
+ * that every persistence unit uses it, including the ones of test slices.
+ * </p>
+ *
+ * @see ClinicContextHolder
+ */
+public class ClinicTenantIdentifierResolver implements CurrentTenantIdentifierResolver<Integer> {
+
+	@Override
+	public Integer resolveCurrentTenantIdentifier() {
+		return ClinicContextHolder.getClinicId();
+	}
+
+	@Override
+	public boolean validateExistingCurrentSessions() {
+		return false;
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+/**
+ * Application event published when an owner, a pet or a visit has been saved, and
+ * forwarded to the subscribers of the {@link ClinicEventStream}.
+ *
+ * @param type what happened
+ * @param ownerId the id of the owner concerned
+ * @param petId the id of the pet concerned, or {@code null} for owner events
+ */
+public record ClinicEvent(Type type, Integer ownerId, Integer petId) {
+
+	public static ClinicEvent of(Type type, Owner owner) {
+		return new ClinicEvent(type, owner.getId(), null);
+	}
+
+	public static ClinicEvent of(Type type, Owner owner, Integer petId) {
+		return new ClinicEvent(type, owner.getId(), petId);
+	}
+
+	/**
+	 * The kinds of change, each sent as its own named server-sent event.
+	 */
+	public enum Type {
+
+		OWNER_CREATED("owner-created"), OWNER_UPDATED("owner-updated"), PET_CREATED("pet-created"),
+		PET_UPDATED("pet-updated"), VISIT_CREATED("visit-created");
+
+		private final String eventName;
+
+		Type(String eventName) {
+			this.eventName = eventName;
+		}
+
+		public String getEventName() {
+			return this.eventName;
+		}
+
+	}
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.samples.petclinic.clinic.ClinicContextHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Transactional outbox for {@link ClinicEvent clinic events}.
+ * <p>
+ * Every event is written to the {@code outbox} table in the transaction of the change it
+ * describes, so it is stored exactly when the change is. After the transaction commits,
+ * and on a fixed delay to pick up anything left over from a failure or a restart, a relay
+ * delivers the stored events in batches as {@link RelayedClinicEvent relayed events} and
+ * deletes them. An event is only deleted once every listener has handled it, so delivery
+ * is at least once. When a listener fails, the later events of the same owner are held
+ * back until the next run, which keeps the order per owner, while the events of other
+ * owners are still delivered.
+ * </p>
+ * <p>
+ * Transactions do not commit in the order they wrote their events, so the relay cannot
+ * keep a position in the table: every batch reads the oldest events still stored, and an
+ * event committed after later ones have been relayed is picked up by the next batch.
+ * Storing an event locks its owner's row until the transaction ends, so the events of one
+ * owner are committed, and relayed, in the order they were written.
+ * </p>
+ *
+ * @see ClinicEventStream
+ */
+@Component
+public class ClinicEventOutbox {
+
+	private static final Logger logger = LoggerFactory.getLogger(ClinicEventOutbox.class);
+
+	private static final String INSERT = "INSERT INTO outbox (event_type, owner_id, pet_id, clinic_id) VALUES (?, ?, ?, ?)";
+
+	private static final String LOCK_OWNER = "SELECT id FROM owners WHERE id = ? FOR UPDATE";
+
+	private static final String PENDING_QUERY = """
+			SELECT id, event_type, owner_id, pet_id, clinic_id FROM outbox
+			ORDER BY id
+			LIMIT ?""";
+
+	private static final String DELETE = "DELETE FROM outbox WHERE id = ?";
+
+	private static final RowMapper<RelayedClinicEvent> ROW_MAPPER = (rs, rowNum) -> new RelayedClinicEvent(
+			rs.getLong(1), rs.getInt(5), new ClinicEvent(ClinicEvent.Type.valueOf(rs.getString(2)),
+					rs.getObject(3, Integer.class), rs.getObject(4, Integer.class)));
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final ApplicationEventPublisher publisher;
+
+	private final Executor executor;
+
+	private final int batchSize;
+
+	private final Lock relayLock = new ReentrantLock();
+
+	private final AtomicBoolean relayRequested = new AtomicBoolean();
+
+	public ClinicEventOutbox(JdbcTemplate jdbcTemplate, ApplicationEventPublisher publisher,
+			@Qualifier("applicationTaskExecutor") Executor executor,
+			@Value("${petclinic.outbox.batch-size:100}") int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.publisher = publisher;
+		this.executor = executor;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Store the event in the outbox for the {@link ClinicContextHolder current clinic}.
+	 * Must be called in the transaction of the change, which is why publishing a
+	 * {@link ClinicEvent} outside of one fails. Another transaction storing an event of
+	 * the same owner waits until this one has ended.
+	 * @param event the event to store
+	 */
+	@EventListener
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void append(ClinicEvent event) {
+		if (event.ownerId() != null) {
+			this.jdbcTemplate.queryForList(LOCK_OWNER, Integer.class, event.ownerId());
+		}
+		this.jdbcTemplate.update(INSERT, event.type().name(), event.ownerId(), event.petId(),
+				ClinicContextHolder.getClinicId());
+	}
+
+	/**
+	 * Start a relay once the transaction that stored the event has committed.
+	 * @param event the stored event
+	 */
+	@TransactionalEventListener
+	public void afterCommit(ClinicEvent event) {
+		this.executor.execute(this::relay);
+	}
+
+	/**
+	 * Deliver all pending events. Only one relay runs at a time; a request that arrives
+	 * while one is running makes it run once more instead of waiting.
+	 */
+	@Scheduled(fixedDelayString = "${petclinic.outbox.poll-interval:5s}")
+	public void relay() {
+		this.relayRequested.set(true);
+		while (this.relayRequested.get() && this.relayLock.tryLock()) {
+			try {
+				this.relayRequested.set(false);
+				relayPending();
+			}
+			finally {
+				this.relayLock.unlock();
+			}
+		}
+	}
+
+	private void relayPending() {
+		Set<Integer> heldBackOwners = new HashSet<>();
+		// held back events stay in the table, so every batch reads them again
+		Set<Long> heldBack = new HashSet<>();
+		int fresh;
+		do {
+			List<RelayedClinicEvent> batch = this.jdbcTemplate.query(PENDING_QUERY, ROW_MAPPER,
+					this.batchSize + heldBack.size());
+			List<Object[]> delivered = new ArrayList<>(batch.size());
+			fresh = 0;
+			for (RelayedClinicEvent relayed : batch) {
+				if (!heldBack.contains(relayed.sequence())) {
+					fresh++;
+				}
+				Integer ownerId = relayed.event().ownerId();
+				if (heldBackOwners.contains(ownerId)) {
+					heldBack.add(relayed.sequence());
+					continue;
+				}
+				try {
+					this.publisher.publishEvent(relayed);
+					delivered.add(new Object[] { relayed.sequence() });
+				}
+				catch (RuntimeException ex) {
+					logger.warn("Could not relay {}, holding back the later events of owner {}", relayed, ownerId, ex);
+					heldBackOwners.add(ownerId);
+					heldBack.add(relayed.sequence());
+				}
+			}
+			this.jdbcTemplate.batchUpdate(DELETE, delivered);
+		}
+		while (fresh == this.batchSize);
+	}
+
+}
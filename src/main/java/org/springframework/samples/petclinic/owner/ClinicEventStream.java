@@ -0,0 +1,249 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.samples.petclinic.clinic.ClinicContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans {@link ClinicEvent clinic events} out to server-sent event subscribers.
+ * <p>
+ * Subscribers are asynchronous requests, so an idle one holds a connection but no thread.
+ * Every subscriber has a bounded queue: publishing only offers the event to each queue
+ * and never waits, and a drain task sends queued events on the application task executor,
+ * on virtual threads where they are enabled. A subscriber whose queue is full is too slow
+ * to keep up and is closed; the browser reconnects with the id of the last event it
+ * received and is sent the events it missed from a short history. When that history no
+ * longer reaches back far enough, it is sent a {@code reset} event instead.
+ * </p>
+ * <p>
+ * Events arrive from the {@link ClinicEventOutbox outbox}, so only committed changes are
+ * streamed. A subscriber only receives the events of the clinic it subscribed from, and
+ * event ids are shared by all clinics, so the ids a subscriber sees may have gaps.
+ * </p>
+ *
+ * @see ClinicEventController
+ */
+@Component
+public class ClinicEventStream {
+
+	static final String RESET_EVENT = "reset";
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	private final Deque<Entry> history = new ArrayDeque<>();
+
+	private final Executor executor;
+
+	private final int bufferSize;
+
+	private final int historySize;
+
+	private final int maxSubscribers;
+
+	private final Duration timeout;
+
+	private long lastId;
+
+	public ClinicEventStream(@Qualifier("applicationTaskExecutor") Executor executor,
+			@Value("${petclinic.events.buffer-size:64}") int bufferSize,
+			@Value("${petclinic.events.history-size:256}") int historySize,
+			@Value("${petclinic.events.max-subscribers:10000}") int maxSubscribers,
+			@Value("${petclinic.events.timeout:10m}") Duration timeout) {
+		this.executor = executor;
+		this.bufferSize = bufferSize;
+		this.historySize = historySize;
+		this.maxSubscribers = maxSubscribers;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Open a new subscription to the events of the {@link ClinicContextHolder current
+	 * clinic}.
+	 * @param lastEventId the id of the last event the client received, from the
+	 * {@code Last-Event-ID} header of a reconnect, or {@code null}
+	 * @return the emitter to return from the handler method
+	 * @throws ResponseStatusException with 503 if there are too many subscribers
+	 */
+	public SseEmitter subscribe(Long lastEventId) {
+		if (this.subscribers.size() >= this.maxSubscribers) {
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many event subscribers");
+		}
+		Subscriber subscriber = new Subscriber(new SseEmitter(this.timeout.toMillis()),
+				ClinicContextHolder.getClinicId(), this.bufferSize);
+		synchronized (this) {
+			if (lastEventId != null) {
+				replay(subscriber, lastEventId);
+			}
+			this.subscribers.add(subscriber);
+		}
+		return subscriber.emitter;
+	}
+
+	private void replay(Subscriber subscriber, long lastEventId) {
+		if (lastEventId == this.lastId) {
+			return;
+		}
+		Entry oldest = this.history.peekFirst();
+		// ids from before a restart, or more missed events than the history or the queue
+		// can hold
+		if (lastEventId > this.lastId || oldest == null || oldest.id() > lastEventId + 1
+				|| this.lastId - lastEventId > this.bufferSize) {
+			subscriber.offer(new Entry(this.lastId, subscriber.clinicId, null));
+			return;
+		}
+		for (Entry entry : this.history) {
+			if (entry.id() > lastEventId && entry.clinicId() == subscriber.clinicId) {
+				subscriber.offer(entry);
+			}
+		}
+	}
+
+	@EventListener
+	void onRelayed(RelayedClinicEvent relayed) {
+		publish(relayed.clinicId(), relayed.event());
+	}
+
+	/**
+	 * Send the event to every subscriber of the {@link ClinicContextHolder current
+	 * clinic}.
+	 * @param event the event to send
+	 */
+	public void publish(ClinicEvent event) {
+		publish(ClinicContextHolder.getClinicId(), event);
+	}
+
+	/**
+	 * Send the event to every subscriber of the given clinic. Offering never blocks, so
+	 * this is cheap even with many subscribers, and the lock keeps the events in order.
+	 * @param clinicId the clinic the event happened in
+	 * @param event the event to send
+	 */
+	public synchronized void publish(int clinicId, ClinicEvent event) {
+		Entry entry = new Entry(++this.lastId, clinicId, event);
+		this.history.addLast(entry);
+		if (this.history.size() > this.historySize) {
+			this.history.removeFirst();
+		}
+		for (Subscriber subscriber : this.subscribers) {
+			if (subscriber.clinicId != clinicId) {
+				continue;
+			}
+			if (!subscriber.offer(entry)) {
+				this.subscribers.remove(subscriber);
+				subscriber.emitter.complete();
+			}
+		}
+	}
+
+	int getSubscriberCount() {
+		return this.subscribers.size();
+	}
+
+	/**
+	 * An event with its id and clinic; a {@code null} event stands for a reset.
+	 */
+	private record Entry(long id, int clinicId, ClinicEvent event) {
+
+	}
+
+	private final class Subscriber {
+
+		private final SseEmitter emitter;
+
+		private final int clinicId;
+
+		private final BlockingQueue<Entry> queue;
+
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		Subscriber(SseEmitter emitter, int clinicId, int bufferSize) {
+			this.emitter = emitter;
+			this.clinicId = clinicId;
+			this.queue = new ArrayBlockingQueue<>(bufferSize);
+			Runnable unsubscribe = () -> ClinicEventStream.this.subscribers.remove(this);
+			emitter.onCompletion(unsubscribe);
+			emitter.onTimeout(unsubscribe);
+			emitter.onError((ex) -> unsubscribe.run());
+		}
+
+		/**
+		 * Queue the entry and make sure a drain task will send it.
+		 * @return {@code false} if the queue is full
+		 */
+		boolean offer(Entry entry) {
+			if (!this.queue.offer(entry)) {
+				return false;
+			}
+			if (this.draining.compareAndSet(false, true)) {
+				ClinicEventStream.this.executor.execute(this::drain);
+			}
+			return true;
+		}
+
+		private void drain() {
+			do {
+				Entry entry;
+				while ((entry = this.queue.poll()) != null) {
+					if (!send(entry)) {
+						return;
+					}
+				}
+				this.draining.set(false);
+			}
+			// an entry offered after the last poll but before draining was reset
+			while (!this.queue.isEmpty() && this.draining.compareAndSet(false, true));
+		}
+
+		private boolean send(Entry entry) {
+			SseEmitter.SseEventBuilder event = SseEmitter.event().id(Long.toString(entry.id()));
+			if (entry.event() == null) {
+				event.name(RESET_EVENT).data("");
+			}
+			else {
+				event.name(entry.event().type().getEventName()).data(entry.event());
+			}
+			try {
+				this.emitter.send(event);
+				return true;
+			}
+			catch (IOException | IllegalStateException ex) {
+				// the client is gone, or the emitter has completed
+				ClinicEventStream.this.subscribers.remove(this);
+				return false;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Version 1 of the API over owners, their pets and visits. Responses are built from flat
+ * {@link OwnerDto}, {@link PetDto} and {@link VisitDto} records that are queried
+ * directly, never from the entities. They are written as JSON, CBOR or Smile, and lists
+ * also as CSV, as chosen by the {@code Accept} header and JSON by default. The visits of
+ * a pet include the archived ones, read through {@link VisitHistory}.
+ * <p>
+ * Lists are paged by key: a page holds the items after the id given as {@code after}, and
+ * {@code next} is the value to pass for the following page, or {@code null} on the last
+ * one. The URL of the next page is also sent as a {@code Link} header. {@code fields}
+ * restricts the properties of every item, e.g. {@code fields=id,lastName}. Every response
+ * has an ETag computed from its content and format, so unchanged data is answered with a
+ * 304 and not serialized again.
+ * </p>
+ *
+ * @see OwnerApiCsvConverter
+ */
+@RestController
+@RequestMapping(path = "/api/v1/owners", produces = { MediaType.APPLICATION_JSON_VALUE,
+		MediaType.APPLICATION_CBOR_VALUE, "application/x-jackson-smile" })
+class OwnerApiController {
+
+	static final int MAX_PAGE_SIZE = 100;
+
+	private final OwnerRepository owners;
+
+	private final JsonMapper jsonMapper;
+
+	private final VisitHistory visitHistory;
+
+	private final ContentNegotiationManager contentNegotiationManager;
+
+	OwnerApiController(OwnerRepository owners, VisitHistory visitHistory, JsonMapper jsonMapper,
+			ObjectProvider<ContentNegotiationManager> contentNegotiationManager) {
+		this.owners = owners;
+		this.visitHistory = visitHistory;
+		this.jsonMapper = jsonMapper;
+		// there is no MVC one when the application runs without a web server
+		this.contentNegotiationManager = contentNegotiationManager.getIfAvailable(ContentNegotiationManager::new);
+	}
+
+	@GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+			"application/x-jackson-smile", "text/csv" })
+	public ResponseEntity<Page<?>> listOwners(@RequestParam(defaultValue = "") String lastName,
+			@RequestParam(defaultValue = "0") int after, @RequestParam(defaultValue = "20") int size,
+			@RequestParam(required = false) Set<String> fields) throws HttpMediaTypeNotAcceptableException {
+		int limit = limit(size);
+		List<OwnerDto> owners = this.owners.findOwnerDtos(lastName, after, Limit.of(limit + 1));
+		return page(owners, limit, OwnerDto::id, OwnerDto.class, fields);
+	}
+
+	@GetMapping("/{ownerId}")
+	public ResponseEntity<Object> showOwner(@PathVariable int ownerId,
+			@RequestParam(required = false) Set<String> fields) throws HttpMediaTypeNotAcceptableException {
+		OwnerDto owner = this.owners.findOwnerDtoById(ownerId).orElseThrow(() -> notFound("owner", ownerId));
+		Object body = select(List.of(owner), OwnerDto.class, fields).get(0);
+		return ok(body).body(body);
+	}
+
+	@GetMapping(path = "/{ownerId}/pets", produces = { MediaType.APPLICATION_JSON_VALUE,
+			MediaType.APPLICATION_CBOR_VALUE, "application/x-jackson-smile", "text/csv" })
+	public ResponseEntity<Page<?>> listPets(@PathVariable int ownerId,
+			@RequestParam(required = false) Set<String> fields) throws HttpMediaTypeNotAcceptableException {
+		List<PetDto> pets = this.owners.findPetDtos(ownerId);
+		if (pets.isEmpty() && !this.owners.existsById(ownerId)) {
+			throw notFound("owner", ownerId);
+		}
+		return page(pets, pets.size(), PetDto::id, PetDto.class, fields);
+	}
+
+	@GetMapping(path = "/{ownerId}/pets/{petId}/visits", produces = { MediaType.APPLICATION_JSON_VALUE,
+			MediaType.APPLICATION_CBOR_VALUE, "application/x-jackson-smile", "text/csv" })
+	public ResponseEntity<Page<?>> listVisits(@PathVariable int ownerId, @PathVariable int petId,
+			@RequestParam(defaultValue = "0") int after, @RequestParam(defaultValue = "20") int size,
+			@RequestParam(required = false) Set<String> fields) throws HttpMediaTypeNotAcceptableException {
+		int limit = limit(size);
+		// archived visits are listed too, in the same id order
+		List<VisitDto> visits = Stream
+			.concat(this.owners.findVisitDtos(ownerId, petId, after, Limit.of(limit + 1)).stream(),
+					this.visitHistory.archivedAfter(ownerId, petId, after, limit + 1).stream())
+			.sorted(Comparator.comparing(VisitDto::id))
+			.limit(limit + 1)
+			.toList();
+		if (visits.isEmpty() && this.owners.findPetDtos(ownerId).stream().noneMatch((pet) -> pet.id() == petId)) {
+			throw notFound("pet", petId);
+		}
+		return page(visits, limit, VisitDto::id, VisitDto.class, fields);
+	}
+
+	private static int limit(int size) {
+		if (size < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be at least 1");
+		}
+		return Math.min(size, MAX_PAGE_SIZE);
+	}
+
+	/**
+	 * Build a page from up to {@code limit + 1} items, the extra one only telling that
+	 * there is a next page.
+	 */
+	private <T extends Record> ResponseEntity<Page<?>> page(List<T> items, int limit, Function<T, Integer> key,
+			Class<T> type, Set<String> fields) throws HttpMediaTypeNotAcceptableException {
+		boolean hasNext = items.size() > limit;
+		List<T> content = hasNext ? items.subList(0, limit) : items;
+		Integer next = hasNext ? key.apply(content.get(content.size() - 1)) : null;
+		Page<?> page = new Page<>(select(content, type, fields), next);
+		ResponseEntity.BodyBuilder response = ok(page);
+		if (next != null) {
+			String link = ServletUriComponentsBuilder.fromCurrentRequest()
+				.replaceQueryParam("after", next)
+				.toUriString();
+			response.header(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+		}
+		return response.body(page);
+	}
+
+	/**
+	 * Restrict the items to the requested fields, or return them as they are if no fields
+	 * are requested.
+	 */
+	private <T extends Record> List<?> select(List<T> items, Class<T> type, Set<String> fields) {
+		if (fields == null || fields.isEmpty()) {
+			return items;
+		}
+		Set<String> known = Arrays.stream(type.getRecordComponents())
+			.map((component) -> component.getName())
+			.collect(Collectors.toSet());
+		if (!known.containsAll(fields)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Unknown fields " + fields.stream().filter((field) -> !known.contains(field)).toList()
+							+ ", expected any of " + known);
+		}
+		return items.stream().map((item) -> {
+			ObjectNode node = this.jsonMapper.valueToTree(item);
+			return node.retain(fields);
+		}).toList();
+	}
+
+	/**
+	 * Start a response with an ETag of the body and the negotiated format. The tag is an
+	 * MD5 digest of the body serialized as JSON, so it changes with the data and is the
+	 * same on every instance, and the subtype of the format it is written in.
+	 */
+	private ResponseEntity.BodyBuilder ok(Object body) throws HttpMediaTypeNotAcceptableException {
+		String digest = DigestUtils.md5DigestAsHex(this.jsonMapper.writeValueAsBytes(body));
+		return ResponseEntity.ok().eTag(digest + "-" + negotiate().getSubtype()).varyBy(HttpHeaders.ACCEPT);
+	}
+
+	/**
+	 * Return the format the body is written in: the first the endpoint produces that the
+	 * request accepts, so that equivalent {@code Accept} headers give the same ETag.
+	 */
+	@SuppressWarnings("unchecked")
+	private MediaType negotiate() throws HttpMediaTypeNotAcceptableException {
+		NativeWebRequest request = new ServletWebRequest(
+				((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest());
+		Set<MediaType> producible = (Set<MediaType>) request
+			.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (producible != null) {
+			for (MediaType accepted : this.contentNegotiationManager.resolveMediaTypes(request)) {
+				for (MediaType mediaType : producible) {
+					if (accepted.isCompatibleWith(mediaType)) {
+						return mediaType;
+					}
+				}
+			}
+		}
+		return MediaType.APPLICATION_JSON;
+	}
+
+	private static ResponseStatusException notFound(String type, int id) {
+		return new ResponseStatusException(HttpStatus.NOT_FOUND, "No " + type + " with id " + id);
+	}
+
+	/**
+	 * A page of items.
+	 *
+	 * @param items the items on this page
+	 * @param next the {@code after} value of the next page, {@code null} on the last page
+	 */
+	record Page<T>(List<T> items, Integer next) {
+
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.node.ObjectNode;
+import tools.jackson.dataformat.csv.CsvMapper;
+import tools.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Writes the pages of {@link OwnerApiController} as {@code text/csv}, one row per item
+ * and one column per property, under a header row. With {@code fields}, only the selected
+ * columns are written.
+ * <p>
+ * The key of the next page is not part of the body; it is sent in the {@code Link} header
+ * of every page, whatever the format.
+ * </p>
+ */
+@Component
+class OwnerApiCsvConverter extends AbstractHttpMessageConverter<OwnerApiController.Page<?>> {
+
+	private final CsvMapper csvMapper = CsvMapper.builder().disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build();
+
+	OwnerApiCsvConverter() {
+		super(StandardCharsets.UTF_8, new MediaType("text", "csv"));
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return OwnerApiController.Page.class == clazz;
+	}
+
+	@Override
+	protected boolean canRead(MediaType mediaType) {
+		return false;
+	}
+
+	@Override
+	protected OwnerApiController.Page<?> readInternal(Class<? extends OwnerApiController.Page<?>> clazz,
+			HttpInputMessage inputMessage) {
+		throw new HttpMessageNotReadableException("CSV pages cannot be read", inputMessage);
+	}
+
+	@Override
+	protected void writeInternal(OwnerApiController.Page<?> page, HttpOutputMessage outputMessage) throws IOException {
+		if (page.items().isEmpty()) {
+			return;
+		}
+		Object first = page.items().get(0);
+		CsvSchema schema;
+		if (first instanceof ObjectNode node) {
+			CsvSchema.Builder builder = CsvSchema.builder();
+			node.propertyNames().forEach(builder::addColumn);
+			schema = builder.build();
+		}
+		else {
+			schema = this.csvMapper.schemaFor(first.getClass());
+		}
+		try (SequenceWriter writer = this.csvMapper.writer(schema.withHeader()).writeValues(outputMessage.getBody())) {
+			writer.writeAll(page.items());
+		}
+	}
+
+}
@@ -19,10 +19,12 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
@@ -52,8 +54,14 @@ class OwnerController {
 
 	private final OwnerRepository owners;
 
-	public OwnerController(OwnerRepository owners) {
+	private final VisitHistory visitHistory;
+
+	private final ApplicationEventPublisher events;
+
+	public OwnerController(OwnerRepository owners, VisitHistory visitHistory, ApplicationEventPublisher events) {
 		this.owners = owners;
+		this.visitHistory = visitHistory;
+		this.events = events;
 	}
 
 	@InitBinder
@@ -75,6 +83,7 @@ class OwnerController {
 	}
 
 	@PostMapping("/owners/new")
+	@Transactional
 	public String processCreationForm(@Valid Owner owner, BindingResult result, RedirectAttributes redirectAttributes) {
 		if (result.hasErrors()) {
 			redirectAttributes.addFlashAttribute("error", "There was an error in creating the owner.");
@@ -82,6 +91,7 @@ class OwnerController {
 		}
 
 		this.owners.save(owner);
+		this.events.publishEvent(ClinicEvent.of(ClinicEvent.Type.OWNER_CREATED, owner));
 		redirectAttributes.addFlashAttribute("message", "New Owner Created");
 		return "redirect:/owners/" + owner.getId();
 	}
@@ -92,6 +102,7 @@ class OwnerController {
 	}
 
 	@GetMapping("/owners")
+	@Transactional(readOnly = true)
 	public String processFindForm(@RequestParam(defaultValue = "1") int page, Owner owner, BindingResult result,
 			Model model) {
 		// allow parameterless GET request for /owners to return all records
@@ -139,6 +150,7 @@ class OwnerController {
 	}
 
 	@PostMapping("/owners/{ownerId}/edit")
+	@Transactional
 	public String processUpdateOwnerForm(@Valid Owner owner, BindingResult result, @PathVariable("ownerId") int ownerId,
 			RedirectAttributes redirectAttributes) {
 		if (result.hasErrors()) {
@@ -153,23 +165,35 @@ class OwnerController {
 		}
 
 		owner.setId(ownerId);
-		this.owners.save(owner);
+		if (this.owners.updateOwnerDetails(owner) == 0) {
+			// changed since the form was read: show it again, based on the
+			// current version
+			owner.setVersion(findOwner(ownerId).getVersion());
+			result.reject("concurrentUpdate", "was changed by someone else");
+			return VIEWS_OWNER_CREATE_OR_UPDATE_FORM;
+		}
+		this.events.publishEvent(ClinicEvent.of(ClinicEvent.Type.OWNER_UPDATED, owner));
 		redirectAttributes.addFlashAttribute("message", "Owner Values Updated");
 		return "redirect:/owners/{ownerId}";
 	}
 
 	/**
-	 * Custom handler for displaying an owner.
+	 * Custom handler for displaying an owner. The visits are not loaded here but streamed
+	 * by the view through {@link VisitHistory}. The owner is only rendered, so it is
+	 * loaded in a read-only transaction, without snapshots for dirty checking, and from
+	 * the replica where there is one. An owner the replica does not have yet, such as one
+	 * just created, is loaded from the primary instead.
 	 * @param ownerId the ID of the owner to display
 	 * @return a ModelMap with the model attributes for the view
 	 */
 	@GetMapping("/owners/{ownerId}")
 	public ModelAndView showOwner(@PathVariable("ownerId") int ownerId) {
 		ModelAndView mav = new ModelAndView("owners/ownerDetails");
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
+		Optional<Owner> optionalOwner = this.owners.findReadOnlyById(ownerId).or(() -> this.owners.findById(ownerId));
 		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
 				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
 		mav.addObject(owner);
+		mav.addObject("visitHistory", this.visitHistory);
 		return mav;
 	}
 
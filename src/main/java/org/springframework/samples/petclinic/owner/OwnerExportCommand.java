@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the clinic export to a file on startup, for nightly batch jobs:
+ *
+ * <pre class="code">
+ * java -jar petclinic.jar --spring.main.web-application-type=none \
+ *     --petclinic.export.output=clinic.ndjson --petclinic.export.format=ndjson
+ * </pre>
+ *
+ * Without a web server the application exits once the export has been written.
+ *
+ * @see OwnerExporter
+ */
+@Component
+@ConditionalOnProperty("petclinic.export.output")
+class OwnerExportCommand implements ApplicationRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(OwnerExportCommand.class);
+
+	private final OwnerExporter exporter;
+
+	private final Path output;
+
+	private final OwnerExporter.Format format;
+
+	OwnerExportCommand(OwnerExporter exporter, @Value("${petclinic.export.output}") Path output,
+			@Value("${petclinic.export.format:ndjson}") String format) {
+		this.exporter = exporter;
+		this.output = output;
+		this.format = OwnerExporter.Format.of(format);
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		long start = System.nanoTime();
+		long owners;
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(this.output))) {
+			owners = this.exporter.export(this.format, out);
+		}
+		logger.info("Exported {} owners as {} to {} in {} ms", owners, this.format, this.output.toAbsolutePath(),
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.samples.petclinic.clinic.ClinicContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.core.json.JsonFactory;
+
+/**
+ * Streams every {@link Owner} together with its {@link Pet pets} and {@link Visit visits}
+ * from a forward-only JDBC cursor straight to an {@link OutputStream}.
+ * <p>
+ * Rows are written as soon as they are read, so memory use does not depend on the number
+ * of owners in the clinic. The fetch size only controls how many rows the driver buffers
+ * per round trip. Only the owners of the {@link ClinicContextHolder current clinic} are
+ * exported. The visits include those the {@link VisitArchiver} has moved to the archive.
+ * </p>
+ *
+ * @see OwnerExportController
+ * @see OwnerExportCommand
+ */
+@Component
+public class OwnerExporter {
+
+	private static final String EXPORT_QUERY = """
+			SELECT o.id, o.first_name, o.last_name, o.address, o.city, o.telephone,
+			       p.id, p.name, p.birth_date, t.name,
+			       v.id, v.visit_date, v.description
+			FROM owners o
+			LEFT JOIN pets p ON p.owner_id = o.id
+			LEFT JOIN types t ON t.id = p.type_id
+			LEFT JOIN (
+			  SELECT id, pet_id, visit_date, description FROM visits
+			  UNION ALL
+			  SELECT id, pet_id, visit_date, description FROM visits_archive
+			) v ON v.pet_id = p.id
+			WHERE o.clinic_id = ?
+			ORDER BY o.id, p.id, v.id""";
+
+	private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+		.rootValueSeparator("\n")
+		.disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+		.build();
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final int fetchSize;
+
+	public OwnerExporter(JdbcTemplate jdbcTemplate, @Value("${petclinic.export.fetch-size:500}") int fetchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Write all owners with their pets and visits to the given stream. The stream is
+	 * flushed but not closed.
+	 * @param format the output format
+	 * @param out the stream to write to
+	 * @return the number of owners written
+	 */
+	@Transactional(readOnly = true)
+	public long export(Format format, OutputStream out) {
+		ExportRowHandler handler = (format == Format.CSV) ? new CsvRowHandler(out) : new NdjsonRowHandler(out);
+		this.jdbcTemplate.query(this::openCursor, handler);
+		handler.finish();
+		return handler.getOwnerCount();
+	}
+
+	private PreparedStatement openCursor(Connection con) throws SQLException {
+		PreparedStatement ps = con.prepareStatement(EXPORT_QUERY, ResultSet.TYPE_FORWARD_ONLY,
+				ResultSet.CONCUR_READ_ONLY);
+		// Connector/J only streams rows when the fetch size is Integer.MIN_VALUE
+		String product = con.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+		ps.setFetchSize(product.contains("mysql") ? Integer.MIN_VALUE : this.fetchSize);
+		ps.setInt(1, ClinicContextHolder.getClinicId());
+		return ps;
+	}
+
+	/**
+	 * Supported export formats.
+	 */
+	public enum Format {
+
+		/**
+		 * One JSON document per owner and line, with nested pets and visits.
+		 */
+		NDJSON("application/x-ndjson", "ndjson"),
+
+		/**
+		 * One row per visit, flattened with its pet and owner columns.
+		 */
+		CSV("text/csv", "csv");
+
+		private final String contentType;
+
+		private final String extension;
+
+		Format(String contentType, String extension) {
+			this.contentType = contentType;
+			this.extension = extension;
+		}
+
+		public String getContentType() {
+			return this.contentType;
+		}
+
+		public String getExtension() {
+			return this.extension;
+		}
+
+		/**
+		 * Resolve a format from its case-insensitive name.
+		 * @param name the format name, e.g. {@code csv}
+		 * @return the matching format
+		 * @throws IllegalArgumentException if no format matches
+		 */
+		public static Format of(String name) {
+			return valueOf(name.trim().toUpperCase(Locale.ROOT));
+		}
+
+	}
+
+	/**
+	 * Base class for handlers that turn the ordered join into an export stream.
+	 */
+	private abstract static class ExportRowHandler implements RowCallbackHandler {
+
+		private Integer currentOwnerId;
+
+		private long ownerCount;
+
+		/**
+		 * Return whether the row starts a new owner, and remember it if so.
+		 */
+		protected boolean isNewOwner(ResultSet rs) throws SQLException {
+			int ownerId = rs.getInt(1);
+			if (this.currentOwnerId != null && this.currentOwnerId == ownerId) {
+				return false;
+			}
+			this.currentOwnerId = ownerId;
+			this.ownerCount++;
+			return true;
+		}
+
+		protected boolean hasOwner() {
+			return this.currentOwnerId != null;
+		}
+
+		long getOwnerCount() {
+			return this.ownerCount;
+		}
+
+		abstract void finish();
+
+	}
+
+	/**
+	 * Writes one JSON object per owner and line. The nesting is driven by the row order
+	 * of the query, so only the currently open owner and pet are tracked.
+	 */
+	private static final class NdjsonRowHandler extends ExportRowHandler {
+
+		private final JsonGenerator generator;
+
+		private Integer currentPetId;
+
+		NdjsonRowHandler(OutputStream out) {
+			this.generator = JSON_FACTORY.createGenerator(ObjectWriteContext.empty(), out);
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			if (isNewOwner(rs)) {
+				if (this.currentPetId != null) {
+					endPet();
+				}
+				if (getOwnerCount() > 1) {
+					endOwner();
+				}
+				startOwner(rs);
+			}
+			int petId = rs.getInt(7);
+			if (rs.wasNull()) {
+				return;
+			}
+			if (this.currentPetId == null || this.currentPetId != petId) {
+				if (this.currentPetId != null) {
+					endPet();
+				}
+				startPet(rs, petId);
+			}
+			int visitId = rs.getInt(11);
+			if (!rs.wasNull()) {
+				writeVisit(rs, visitId);
+			}
+		}
+
+		private void startOwner(ResultSet rs) throws SQLException {
+			this.generator.writeStartObject();
+			this.generator.writeNumberProperty("id", rs.getInt(1));
+			this.generator.writeStringProperty("firstName", rs.getString(2));
+			this.generator.writeStringProperty("lastName", rs.getString(3));
+			this.generator.writeStringProperty("address", rs.getString(4));
+			this.generator.writeStringProperty("city", rs.getString(5));
+			this.generator.writeStringProperty("telephone", rs.getString(6));
+			this.generator.writeArrayPropertyStart("pets");
+		}
+
+		private void endOwner() {
+			this.generator.writeEndArray();
+			this.generator.writeEndObject();
+		}
+
+		private void startPet(ResultSet rs, int petId) throws SQLException {
+			this.currentPetId = petId;
+			this.generator.writeStartObject();
+			this.generator.writeNumberProperty("id", petId);
+			this.generator.writeStringProperty("name", rs.getString(8));
+			this.generator.writeStringProperty("birthDate", toString(rs.getObject(9, LocalDate.class)));
+			this.generator.writeStringProperty("type", rs.getString(10));
+			this.generator.writeArrayPropertyStart("visits");
+		}
+
+		private void endPet() {
+			this.generator.writeEndArray();
+			this.generator.writeEndObject();
+			this.currentPetId = null;
+		}
+
+		private void writeVisit(ResultSet rs, int visitId) throws SQLException {
+			this.generator.writeStartObject();
+			this.generator.writeNumberProperty("id", visitId);
+			this.generator.writeStringProperty("date", toString(rs.getObject(12, LocalDate.class)));
+			this.generator.writeStringProperty("description", rs.getString(13));
+			this.generator.writeEndObject();
+		}
+
+		@Override
+		void finish() {
+			if (this.currentPetId != null) {
+				endPet();
+			}
+			if (hasOwner()) {
+				endOwner();
+				this.generator.writeRaw('\n');
+			}
+			this.generator.close();
+		}
+
+		private static String toString(LocalDate date) {
+			return (date != null) ? date.toString() : null;
+		}
+
+	}
+
+	/**
+	 * Writes one CSV row per visit. Owners without pets and pets without visits still get
+	 * a row, with the missing columns left empty.
+	 */
+	private static final class CsvRowHandler extends ExportRowHandler {
+
+		private static final String HEADER = "owner_id,first_name,last_name,address,city,telephone,"
+				+ "pet_id,pet_name,birth_date,pet_type,visit_id,visit_date,visit_description";
+
+		private static final int COLUMNS = 13;
+
+		private final Writer writer;
+
+		CsvRowHandler(OutputStream out) {
+			this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+			write(HEADER);
+			write("\n");
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			isNewOwner(rs);
+			for (int column = 1; column <= COLUMNS; column++) {
+				if (column > 1) {
+					write(",");
+				}
+				Object value = rs.getObject(column);
+				if (value != null) {
+					write(escape(value.toString()));
+				}
+			}
+			write("\n");
+		}
+
+		@Override
+		void finish() {
+			try {
+				this.writer.flush();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		private void write(String value) {
+			try {
+				this.writer.write(value);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		private static String escape(String value) {
+			if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+					&& value.indexOf('\r') < 0) {
+				return value;
+			}
+			return '"' + value.replace("\"", "\"\"") + '"';
+		}
+
+	}
+
+}
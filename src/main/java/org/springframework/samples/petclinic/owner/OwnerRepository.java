@@ -15,11 +15,23 @@
  */
 package org.springframework.samples.petclinic.owner;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository class for <code>Owner</code> domain objects. All method names are compliant
@@ -40,8 +52,10 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 * whose last name <i>starts</i> with the given name.
 	 * @param lastName Value to search for
 	 * @return a Collection of matching {@link Owner}s (or an empty Collection if none
-	 * found)
+	 * found), read-only as they are only rendered
 	 */
+	@Transactional(readOnly = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
 	Page<Owner> findByLastNameStartingWith(String lastName, Pageable pageable);
 
 	/**
@@ -56,7 +70,165 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 * {@link Optional} if not found.
 	 * @throws IllegalArgumentException if the id is null (assuming null is not a valid
 	 * input for id)
+	 * <p>
+	 * The owner is read in a read-write transaction, so it comes from the primary even
+	 * when reads are routed to a replica: it is loaded to be changed, and a lagging
+	 * replica would hand out stale state to write back.
+	 * </p>
+	 * @see #findReadOnlyById(Integer)
 	 */
+	@Transactional
 	Optional<Owner> findById(Integer id);
 
+	/**
+	 * Retrieve an {@link Owner} by id, only to render it. It is read in a read-only
+	 * transaction, from the replica where there is one, and without snapshots for dirty
+	 * checking.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} if found
+	 */
+	@Transactional(readOnly = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	Optional<Owner> findReadOnlyById(Integer id);
+
+	/**
+	 * Retrieve an {@link Owner} by id together with the types and the {@link Visit
+	 * visits} of all of its pets, which {@link #findById(Integer)} leaves unloaded. The
+	 * owner is rendered after the transaction has ended, so everything the visit form
+	 * shows must be fetched here. The entities are read-only, as they are only rendered,
+	 * but they are read from the primary, like {@link #findById(Integer)}, because a
+	 * visit is booked against them.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} if found
+	 */
+	@Transactional
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	@EntityGraph(attributePaths = { "pets.type", "pets.visits" })
+	Optional<Owner> findWithVisitsById(Integer id);
+
+	/**
+	 * Retrieve {@link OwnerDto owners} whose last name starts with the given name, in id
+	 * order and starting after the given id.
+	 * @param lastName Value to search for
+	 * @param after the id of the last owner already returned, or {@code 0}
+	 * @param limit the maximum number of owners to return
+	 * @return the matching owners
+	 */
+	@Transactional(readOnly = true)
+	@Query("""
+			SELECT new org.springframework.samples.petclinic.owner.OwnerDto(
+			  o.id, o.firstName, o.lastName, o.address, o.city, o.telephone)
+			FROM Owner o WHERE o.lastName LIKE :lastName% AND o.id > :after ORDER BY o.id""")
+	List<OwnerDto> findOwnerDtos(String lastName, int after, Limit limit);
+
+	/**
+	 * Retrieve an {@link OwnerDto owner} by id.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the owner if found
+	 */
+	@Transactional(readOnly = true)
+	@Query("""
+			SELECT new org.springframework.samples.petclinic.owner.OwnerDto(
+			  o.id, o.firstName, o.lastName, o.address, o.city, o.telephone)
+			FROM Owner o WHERE o.id = :id""")
+	Optional<OwnerDto> findOwnerDtoById(int id);
+
+	/**
+	 * Retrieve the {@link PetDto pets} of an owner in id order.
+	 * @param ownerId the id of the owner
+	 * @return the owner's pets, empty if the owner has none or does not exist
+	 */
+	@Transactional(readOnly = true)
+	@Query("""
+			SELECT new org.springframework.samples.petclinic.owner.PetDto(p.id, o.id, p.name, p.birthDate, t.name)
+			FROM Owner o JOIN o.pets p JOIN p.type t WHERE o.id = :ownerId ORDER BY p.id""")
+	List<PetDto> findPetDtos(int ownerId);
+
+	/**
+	 * Retrieve the {@link VisitDto visits} of an owner's pet, in id order and starting
+	 * after the given id.
+	 * @param ownerId the id of the owner
+	 * @param petId the id of the pet
+	 * @param after the id of the last visit already returned, or {@code 0}
+	 * @param limit the maximum number of visits to return
+	 * @return the pet's visits, empty if the pet does not belong to the owner
+	 */
+	@Transactional(readOnly = true)
+	@Query("""
+			SELECT new org.springframework.samples.petclinic.owner.VisitDto(v.id, p.id, v.date, v.description)
+			FROM Owner o JOIN o.pets p JOIN p.visits v
+			WHERE o.id = :ownerId AND p.id = :petId AND v.id > :after ORDER BY v.id""")
+	List<VisitDto> findVisitDtos(int ownerId, int petId, int after, Limit limit);
+
+	/**
+	 * Count the pets of all owners.
+	 * @return the number of pets
+	 */
+	@Transactional(readOnly = true)
+	@Query("SELECT count(p) FROM Owner o JOIN o.pets p")
+	long countPets();
+
+	/**
+	 * Retrieve the {@link Visit visits} on or after the given day, earliest first,
+	 * without loading their pets or owners.
+	 * @param today the first day to include
+	 * @param limit the maximum number of visits to return
+	 * @return the upcoming visits, read-only as they are only rendered
+	 */
+	@Transactional(readOnly = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	@Query("SELECT v FROM Visit v WHERE v.date >= :today ORDER BY v.date, v.id")
+	List<Visit> findUpcomingVisits(LocalDate today, Limit limit);
+
+	/**
+	 * Retrieve a {@link Pet} of an owner without loading the owner or its other pets.
+	 * @param ownerId the id of the owner
+	 * @param petId the id of the pet
+	 * @return an {@link Optional} containing the {@link Pet}, empty if it does not belong
+	 * to the owner
+	 */
+	@Query("SELECT p FROM Owner o JOIN o.pets p WHERE o.id = :ownerId AND p.id = :petId")
+	Optional<Pet> findPet(int ownerId, int petId);
+
+	/**
+	 * Update the details of an {@link Owner}, but only if it has not changed since the
+	 * given version was read. Neither the pets nor the visits of the owner are touched.
+	 * @param owner the owner with its new details and the version they are based on
+	 * @return {@code 1} if the owner was updated, {@code 0} if its version has changed
+	 */
+	@Transactional
+	@Modifying
+	@Query("""
+			UPDATE Owner o SET o.firstName = :#{#owner.firstName}, o.lastName = :#{#owner.lastName},
+			  o.address = :#{#owner.address}, o.city = :#{#owner.city}, o.telephone = :#{#owner.telephone},
+			  o.version = o.version + 1
+			WHERE o.id = :#{#owner.id} AND o.version = :#{#owner.version}""")
+	int updateOwnerDetails(Owner owner);
+
+	/**
+	 * Update the details of a {@link Pet}, but only if it has not changed since the given
+	 * version was read. The image and the visits of the pet are not touched.
+	 * @param pet the pet with its new details and the version they are based on
+	 * @return {@code 1} if the pet was updated, {@code 0} if its version has changed
+	 * @see #updatePetImage(int, byte[])
+	 */
+	@Transactional
+	@Modifying
+	@Query("""
+			UPDATE Pet p SET p.name = :#{#pet.name}, p.birthDate = :#{#pet.birthDate}, p.type = :#{#pet.type},
+			  p.version = p.version + 1
+			WHERE p.id = :#{#pet.id} AND p.version = :#{#pet.version}""")
+	int updatePetDetails(Pet pet);
+
+	/**
+	 * Replace the image of a {@link Pet}. Its version is incremented, so that an edit
+	 * based on the former image conflicts.
+	 * @param petId the id of the pet
+	 * @param image the new image
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE Pet p SET p.image = :image, p.version = p.version + 1 WHERE p.id = :petId")
+	void updatePetImage(int petId, byte[] image);
+
 }
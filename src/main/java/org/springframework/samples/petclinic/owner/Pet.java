@@ -23,15 +23,17 @@ import java.util.Set;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.samples.petclinic.model.NamedEntity;
 
+import org.hibernate.annotations.OptimisticLock;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Simple business object representing a pet.
@@ -53,15 +55,21 @@ public class Pet extends NamedEntity {
 	@JoinColumn(name = "type_id")
 	private PetType type;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	// lazy, see OwnerRepository#findWithVisitsById and VisitHistory; booking a visit does
+	// not conflict with an edit of the pet
+	@OneToMany(cascade = CascadeType.ALL)
 	@JoinColumn(name = "pet_id")
 	@OrderBy("date ASC")
+	@OptimisticLock(excluded = true)
 	private final Set<Visit> visits = new LinkedHashSet<>();
 
 	@Column(name = "image")
 	@jakarta.persistence.Lob
 	private byte[] image;
 
+	@Version
+	private Integer version;
+
 	public void setBirthDate(LocalDate birthDate) {
 		this.birthDate = birthDate;
 	}
@@ -94,4 +102,12 @@ public class Pet extends NamedEntity {
 		this.image = image;
 	}
 
+	public Integer getVersion() {
+		return this.version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
 }
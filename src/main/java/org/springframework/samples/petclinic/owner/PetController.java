@@ -20,7 +20,9 @@ import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.ModelMap;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -60,9 +62,12 @@ class PetController {
 
 	private final PetTypeRepository types;
 
-	public PetController(OwnerRepository owners, PetTypeRepository types) {
+	private final ApplicationEventPublisher events;
+
+	public PetController(OwnerRepository owners, PetTypeRepository types, ApplicationEventPublisher events) {
 		this.owners = owners;
 		this.types = types;
+		this.events = events;
 	}
 
 	@ModelAttribute("types")
@@ -110,8 +115,10 @@ class PetController {
 	}
 
 	@PostMapping("/pets/new")
-	public String processCreationForm(Owner owner, @Valid Pet pet, BindingResult result,
-			RedirectAttributes redirectAttributes, @RequestParam("imageFile") MultipartFile imageFile) {
+	@Transactional
+	public String processCreationForm(@PathVariable("ownerId") int ownerId, Owner owner, @Valid Pet pet,
+			BindingResult result, RedirectAttributes redirectAttributes,
+			@RequestParam("imageFile") MultipartFile imageFile) {
 
 		if (!imageFile.isEmpty()) {
 			try {
@@ -134,8 +141,8 @@ class PetController {
 			return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
 		}
 
-		owner.addPet(pet);
-		this.owners.save(owner);
+		addPet(ownerId, pet);
+		this.events.publishEvent(ClinicEvent.of(ClinicEvent.Type.PET_CREATED, owner, pet.getId()));
 		redirectAttributes.addFlashAttribute("message", "New Pet has been Added");
 		return "redirect:/owners/{ownerId}";
 	}
@@ -146,8 +153,10 @@ class PetController {
 	}
 
 	@PostMapping("/pets/{petId}/edit")
-	public String processUpdateForm(Owner owner, @Valid Pet pet, BindingResult result,
-			RedirectAttributes redirectAttributes, @RequestParam("imageFile") MultipartFile imageFile) {
+	@Transactional
+	public String processUpdateForm(@PathVariable("ownerId") int ownerId, Owner owner, @Valid Pet pet,
+			BindingResult result, RedirectAttributes redirectAttributes,
+			@RequestParam("imageFile") MultipartFile imageFile) {
 
 		if (!imageFile.isEmpty()) {
 			try {
@@ -177,33 +186,55 @@ class PetController {
 			return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
 		}
 
-		updatePetDetails(owner, pet);
+		if (!updatePetDetails(ownerId, owner, pet)) {
+			// changed since the form was read: show it again, based on the
+			// current version
+			pet.setVersion(this.owners.findPet(ownerId, pet.getId()).map(Pet::getVersion).orElse(null));
+			result.reject("concurrentUpdate", "was changed by someone else");
+			return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
+		}
+		this.events.publishEvent(ClinicEvent.of(ClinicEvent.Type.PET_UPDATED, owner, pet.getId()));
 		redirectAttributes.addFlashAttribute("message", "Pet details has been edited");
 		return "redirect:/owners/{ownerId}";
 	}
 
 	/**
-	 * Updates the pet details if it exists or adds a new pet to the owner.
+	 * Updates the pet details if it exists or adds a new pet to the owner. An existing
+	 * pet is updated on its own, and only if it has not changed since the form was read.
+	 * @param ownerId The id of the owner
 	 * @param owner The owner of the pet
 	 * @param pet The pet with updated details
+	 * @return {@code false} if the pet has been changed by someone else meanwhile
 	 */
-	private void updatePetDetails(Owner owner, Pet pet) {
+	private boolean updatePetDetails(int ownerId, Owner owner, Pet pet) {
 		Integer id = pet.getId();
 		Assert.state(id != null, "'pet.getId()' must not be null");
 		Pet existingPet = owner.getPet(id);
-		if (existingPet != null) {
-			// Update existing pet's properties
-			existingPet.setName(pet.getName());
-			existingPet.setBirthDate(pet.getBirthDate());
-			existingPet.setType(pet.getType());
-			if (pet.getImage() != null && pet.getImage().length > 0) {
-				existingPet.setImage(pet.getImage());
-			}
+		if (existingPet == null) {
+			addPet(ownerId, pet);
+			return true;
+		}
+		if (this.owners.updatePetDetails(pet) == 0) {
+			return false;
 		}
-		else {
-			owner.addPet(pet);
+		if (pet.getImage() != null && pet.getImage().length > 0) {
+			this.owners.updatePetImage(id, pet.getImage());
 		}
-		this.owners.save(owner);
+		return true;
+	}
+
+	/**
+	 * Adds a new pet to the owner as loaded in the current transaction. The owner bound
+	 * to the form is not merged, so a concurrent edit of its details neither conflicts
+	 * nor gets overwritten.
+	 * @param ownerId The id of the owner
+	 * @param pet The new pet, which carries its generated id afterwards
+	 */
+	private void addPet(int ownerId, Pet pet) {
+		Owner owner = this.owners.findById(ownerId)
+			.orElseThrow(() -> new IllegalArgumentException("Owner not found with id: " + ownerId));
+		owner.addPet(pet);
+		this.owners.flush();
 	}
 
 	@GetMapping("/pets/{petId}/image")
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+
+/**
+ * Flat, read-only view of a {@link Pet} as returned by the REST API, without its visits
+ * or image.
+ *
+ * @param id the pet id
+ * @param ownerId the id of the owner
+ * @param name the name
+ * @param birthDate the birth date
+ * @param type the name of the pet type
+ * @see OwnerApiController
+ */
+public record PetDto(Integer id, Integer ownerId, String name, LocalDate birthDate, String type) {
+
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+/**
+ * A {@link ClinicEvent} delivered from the outbox after its transaction committed.
+ * Delivery is at least once, so listeners may see the same event again and should use the
+ * sequence to tell.
+ *
+ * @param sequence the position of the event in the outbox, increasing in the order the
+ * events were written
+ * @param clinicId the clinic the event happened in
+ * @param event the event
+ * @see ClinicEventOutbox
+ */
+public record RelayedClinicEvent(long sequence, int clinicId, ClinicEvent event) {
+
+}
@@ -16,13 +16,17 @@
 package org.springframework.samples.petclinic.owner;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.samples.petclinic.model.BaseEntity;
 
+import org.hibernate.annotations.TenantId;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 
 /**
@@ -42,6 +46,20 @@ public class Visit extends BaseEntity {
 	@NotBlank
 	private String description;
 
+	@Version
+	private Integer version;
+
+	@TenantId
+	@Column(name = "clinic_id")
+	private Integer clinicId;
+
+	@Column(name = "vet_id")
+	private Integer vetId;
+
+	@Column(name = "start_time")
+	@DateTimeFormat(pattern = "HH:mm")
+	private LocalTime startTime;
+
 	/**
 	 * Creates a new instance of Visit for the current date
 	 */
@@ -65,4 +83,36 @@ public class Visit extends BaseEntity {
 		this.description = description;
 	}
 
+	/**
+	 * Return the id of the vet the visit is booked with, or {@code null} for a visit that
+	 * is not scheduled with a vet.
+	 */
+	public Integer getVetId() {
+		return this.vetId;
+	}
+
+	public void setVetId(Integer vetId) {
+		this.vetId = vetId;
+	}
+
+	/**
+	 * Return the start of the visit's slot in the vet's calendar, or {@code null} for a
+	 * visit that is not scheduled with a vet.
+	 */
+	public LocalTime getStartTime() {
+		return this.startTime;
+	}
+
+	public void setStartTime(LocalTime startTime) {
+		this.startTime = startTime;
+	}
+
+	public Integer getVersion() {
+		return this.version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
 }
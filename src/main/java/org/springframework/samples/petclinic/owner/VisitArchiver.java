@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves {@link Visit visits} older than a horizon from the {@code visits} table to the
+ * {@code visits_archive} table, so that the table that is read on every owner and visit
+ * page only holds the recent history.
+ * <p>
+ * Visits are moved in batches of {@code petclinic.archive.batch-size}, each in a
+ * transaction of its own, so a run never holds many locks or a long transaction and can
+ * be interrupted at any point. Archived visits keep their ids and are still shown, from
+ * the archive, when the older visits of a pet are paged through.
+ * </p>
+ * <p>
+ * A batch first selects the ids of the oldest visits before the cut-off date, then copies
+ * and deletes the visits with exactly those ids. A visit is therefore either archived
+ * completely or left in place, even when visits are booked while the archiver runs.
+ * Archiving runs as a scheduled job for all clinics, so it bypasses the tenant filter of
+ * the repositories and works on the tables directly.
+ * </p>
+ *
+ * @see VisitHistory
+ */
+@Component
+public class VisitArchiver {
+
+	private static final Logger logger = LoggerFactory.getLogger(VisitArchiver.class);
+
+	private static final String BATCH_QUERY = """
+			SELECT id FROM visits
+			WHERE visit_date < ?
+			ORDER BY id LIMIT ?""";
+
+	private static final String COPY = """
+			INSERT INTO visits_archive (id, pet_id, visit_date, description, vet_id, start_time, clinic_id)
+			SELECT id, pet_id, visit_date, description, vet_id, start_time, clinic_id FROM visits
+			WHERE id = ?""";
+
+	private static final String DELETE = "DELETE FROM visits WHERE id = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final Period horizon;
+
+	private final int batchSize;
+
+	public VisitArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			@Value("${petclinic.archive.horizon:P2Y}") Period horizon,
+			@Value("${petclinic.archive.batch-size:500}") int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.horizon = horizon;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Archive the visits that are older than the horizon.
+	 */
+	@Scheduled(cron = "${petclinic.archive.cron:0 30 3 * * *}")
+	public void archive() {
+		long start = System.nanoTime();
+		int archived = archiveBefore(LocalDate.now().minus(this.horizon));
+		if (archived > 0) {
+			logger.info("Archived {} visits in {} ms", archived, (System.nanoTime() - start) / 1_000_000);
+		}
+	}
+
+	/**
+	 * Archive the visits before the given date, of all clinics.
+	 * @param date the date of the oldest visit to keep
+	 * @return the number of visits archived
+	 */
+	public int archiveBefore(LocalDate date) {
+		int archived = 0;
+		int moved;
+		do {
+			moved = this.transactionTemplate.execute((status) -> moveBatch(date));
+			archived += moved;
+		}
+		while (moved == this.batchSize);
+		return archived;
+	}
+
+	private int moveBatch(LocalDate date) {
+		List<Integer> ids = this.jdbcTemplate.queryForList(BATCH_QUERY, Integer.class, date, this.batchSize);
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		// copy and delete exactly these ids: a condition evaluated again by each
+		// statement could match a visit committed in between, and delete it uncopied
+		List<Object[]> batch = ids.stream().map((id) -> new Object[] { id }).toList();
+		this.jdbcTemplate.batchUpdate(COPY, batch);
+		this.jdbcTemplate.batchUpdate(DELETE, batch);
+		return ids.size();
+	}
+
+}
@@ -15,10 +15,20 @@
  */
 package org.springframework.samples.petclinic.owner;
 
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.samples.petclinic.vet.Vet;
+import org.springframework.samples.petclinic.vet.VetCalendar;
+import org.springframework.samples.petclinic.vet.VetRepository;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -41,10 +51,22 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @Controller
 class VisitController {
 
+	private static final DateTimeFormatter NEXT_SLOT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
 	private final OwnerRepository owners;
 
-	public VisitController(OwnerRepository owners) {
+	private final VetRepository vets;
+
+	private final VetCalendar calendar;
+
+	private final ApplicationEventPublisher events;
+
+	public VisitController(OwnerRepository owners, VetRepository vets, VetCalendar calendar,
+			ApplicationEventPublisher events) {
 		this.owners = owners;
+		this.vets = vets;
+		this.calendar = calendar;
+		this.events = events;
 	}
 
 	@InitBinder
@@ -62,7 +84,7 @@ class VisitController {
 	@ModelAttribute("visit")
 	public Visit loadPetWithVisit(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
 			Map<String, Object> model) {
-		Optional<Owner> optionalOwner = owners.findById(ownerId);
+		Optional<Owner> optionalOwner = owners.findWithVisitsById(ownerId);
 		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
 				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
 
@@ -79,6 +101,11 @@ class VisitController {
 		return visit;
 	}
 
+	@ModelAttribute("vets")
+	public Collection<Vet> populateVets() {
+		return this.vets.findAll();
+	}
+
 	// Spring MVC calls method loadPetWithVisit(...) before initNewVisitForm is
 	// called
 	@GetMapping("/owners/{ownerId}/pets/{petId}/visits/new")
@@ -89,16 +116,98 @@ class VisitController {
 	// Spring MVC calls method loadPetWithVisit(...) before processNewVisitForm is
 	// called
 	@PostMapping("/owners/{ownerId}/pets/{petId}/visits/new")
-	public String processNewVisitForm(@ModelAttribute Owner owner, @PathVariable int petId, @Valid Visit visit,
-			BindingResult result, RedirectAttributes redirectAttributes) {
-		if (result.hasErrors()) {
+	@Transactional
+	public String processNewVisitForm(@ModelAttribute Owner owner, @PathVariable int ownerId, @PathVariable int petId,
+			@Valid Visit visit, BindingResult result, RedirectAttributes redirectAttributes) {
+		if (result.hasErrors() || !schedule(visit, result)) {
 			return "pets/createOrUpdateVisitForm";
 		}
 
-		owner.addVisit(petId, visit);
-		this.owners.save(owner);
+		// add the visit to the pet alone instead of merging the whole owner
+		Pet pet = this.owners.findPet(ownerId, petId)
+			.orElseThrow(() -> new IllegalArgumentException(
+					"Pet with id " + petId + " not found for owner with id " + ownerId + "."));
+		pet.addVisit(visit);
+		if (visit.getStartTime() != null && !flush(visit, result)) {
+			return "pets/createOrUpdateVisitForm";
+		}
+		this.events.publishEvent(ClinicEvent.of(ClinicEvent.Type.VISIT_CREATED, owner, petId));
 		redirectAttributes.addFlashAttribute("message", "Your visit has been booked");
 		return "redirect:/owners/{ownerId}";
 	}
 
+	/**
+	 * Book the visit's slot in the calendar of its vet. Without a time, the first free
+	 * slot of the day is taken.
+	 * @return {@code false} if the slot cannot be booked, with the reason in the result
+	 */
+	private boolean schedule(Visit visit, BindingResult result) {
+		Integer vetId = visit.getVetId();
+		if (vetId == null) {
+			if (visit.getStartTime() != null) {
+				result.rejectValue("vetId", "required", "is required");
+				return false;
+			}
+			return true;
+		}
+		if (this.vets.findAll().stream().noneMatch((vet) -> vetId.equals(vet.getId()))) {
+			result.rejectValue("vetId", "notFound", "has not been found");
+			return false;
+		}
+		if (visit.getDate() == null) {
+			result.rejectValue("date", "required", "is required");
+			return false;
+		}
+		if (!this.calendar.isBookable(visit.getDate())) {
+			result.rejectValue("date", "outsideSchedule", new Object[] { this.calendar.getHorizon() },
+					"is not within the days that can be booked");
+			return false;
+		}
+		LocalTime start = visit.getStartTime();
+		if (start == null) {
+			Optional<LocalTime> slot = this.calendar.reserveFirstFree(vetId, visit.getDate());
+			if (slot.isEmpty()) {
+				result.rejectValue("vetId", "fullyBooked", "is fully booked on this day");
+				return false;
+			}
+			visit.setStartTime(slot.get());
+			return true;
+		}
+		if (!this.calendar.isSlot(start)) {
+			result.rejectValue("startTime", "invalidSlot", "is not the start of a slot");
+			return false;
+		}
+		if (!this.calendar.isBookable(visit.getDate(), start)) {
+			result.rejectValue("startTime", "slotStarted", "has already started");
+			return false;
+		}
+		if (!this.calendar.reserve(vetId, visit.getDate(), start)) {
+			String next = this.calendar.findNextFreeSlot(vetId, visit.getDate().atTime(start))
+				.map(NEXT_SLOT_FORMAT::format)
+				.orElse("-");
+			result.rejectValue("startTime", "slotTaken", new Object[] { next }, "is already booked");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Write the booked visit now, so that a slot booked through another instance in the
+	 * meantime, which the unique index on the slot rejects, is reported on the form. The
+	 * transaction is then rolled back and the day is loaded again on its next use.
+	 * @return {@code false} if the slot has been taken, with the reason in the result
+	 */
+	private boolean flush(Visit visit, BindingResult result) {
+		try {
+			this.owners.flush();
+			return true;
+		}
+		catch (DataIntegrityViolationException ex) {
+			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+			this.calendar.forget(visit.getVetId(), visit.getDate());
+			result.rejectValue("startTime", "slotTakenMeanwhile", "has been booked by someone else");
+			return false;
+		}
+	}
+
 }
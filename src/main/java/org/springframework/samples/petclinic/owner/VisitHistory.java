@@ -0,0 +1,199 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.clinic.ClinicContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Loads the {@link Visit visits} of a {@link Pet} a page at a time, most recent first,
+ * instead of loading the whole history with the pet. Pages after the first are read with
+ * a keyset query on {@code (pet_id, visit_date, id)}, so each page costs the same however
+ * long the history is.
+ * <p>
+ * The history includes the visits that the {@link VisitArchiver} has moved to the
+ * {@code visits_archive} table. The archive is only read for the first page when a pet
+ * has fewer recent visits than fit on it, and otherwise only once older visits are asked
+ * for.
+ * </p>
+ * <p>
+ * Used from templates while the page is rendered, as
+ * <code>th:with="history=${visitHistory.recent(pet)}"</code>. The output rendered so far
+ * is flushed before each query, so the first bytes of a page are sent before any visit is
+ * read.
+ * </p>
+ *
+ * @see VisitHistoryController
+ */
+@Component
+public class VisitHistory {
+
+	private static final String RECENT_QUERY = """
+			SELECT id, visit_date, description FROM visits
+			WHERE pet_id = ?
+			ORDER BY visit_date DESC, id DESC LIMIT ?""";
+
+	private static final String ARCHIVED_RECENT_QUERY = """
+			SELECT id, visit_date, description FROM visits_archive
+			WHERE pet_id = ?
+			ORDER BY visit_date DESC, id DESC LIMIT ?""";
+
+	private static final String OLDER_QUERY = """
+			SELECT id, visit_date, description FROM (
+			  SELECT v.id, v.visit_date, v.description FROM visits v JOIN pets p ON p.id = v.pet_id
+			  WHERE p.owner_id = ? AND v.pet_id = ? AND v.clinic_id = ?
+			    AND (v.visit_date < ? OR (v.visit_date = ? AND v.id < ?))
+			  UNION ALL
+			  SELECT a.id, a.visit_date, a.description FROM visits_archive a JOIN pets p ON p.id = a.pet_id
+			  WHERE p.owner_id = ? AND a.pet_id = ? AND a.clinic_id = ?
+			    AND (a.visit_date < ? OR (a.visit_date = ? AND a.id < ?))
+			) h
+			ORDER BY visit_date DESC, id DESC LIMIT ?""";
+
+	private static final String ARCHIVED_AFTER_QUERY = """
+			SELECT a.id, a.pet_id, a.visit_date, a.description FROM visits_archive a JOIN pets p ON p.id = a.pet_id
+			WHERE p.owner_id = ? AND a.pet_id = ? AND a.clinic_id = ? AND a.id > ?
+			ORDER BY a.id LIMIT ?""";
+
+	private static final Comparator<Visit> MOST_RECENT_FIRST = Comparator.comparing(Visit::getDate)
+		.thenComparing(Visit::getId)
+		.reversed();
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final int pageSize;
+
+	public VisitHistory(DataSource dataSource, @Value("${petclinic.visits.page-size:5}") int pageSize) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Return the most recent visits of the given pet.
+	 * @param pet the pet whose visits to load
+	 * @return the first page of the pet's visit history
+	 */
+	public Page recent(Pet pet) {
+		if (pet.isNew()) {
+			return new Page(List.of(), false);
+		}
+		flush();
+		List<Visit> visits = this.jdbcTemplate.query(RECENT_QUERY, VisitHistory::mapVisit, pet.getId(),
+				this.pageSize + 1);
+		if (visits.size() <= this.pageSize) {
+			// the whole recent history fits, the rest of the page comes from the archive
+			visits = new ArrayList<>(visits);
+			visits.addAll(this.jdbcTemplate.query(ARCHIVED_RECENT_QUERY, VisitHistory::mapVisit, pet.getId(),
+					this.pageSize + 1 - visits.size()));
+			visits.sort(MOST_RECENT_FIRST);
+		}
+		return page(visits);
+	}
+
+	/**
+	 * Return the visits of a pet that come before the given one, most recent first.
+	 * @param ownerId the owner of the pet
+	 * @param petId the pet whose visits to load
+	 * @param date the date of the last visit already shown
+	 * @param id the id of the last visit already shown
+	 * @return the next page of the pet's visit history, empty if the pet does not belong
+	 * to the owner or the visits to another clinic
+	 */
+	public Page olderThan(int ownerId, int petId, LocalDate date, int id) {
+		int clinicId = ClinicContextHolder.getClinicId();
+		return page(this.jdbcTemplate.query(OLDER_QUERY, VisitHistory::mapVisit, ownerId, petId, clinicId, date, date,
+				id, ownerId, petId, clinicId, date, date, id, this.pageSize + 1));
+	}
+
+	/**
+	 * Return the archived visits of a pet with an id after the given one, in id order,
+	 * for the REST API to merge with the visits that have not been archived.
+	 * @param ownerId the owner of the pet
+	 * @param petId the pet whose visits to load
+	 * @param after the id of the last visit already returned, or {@code 0}
+	 * @param limit the maximum number of visits to return
+	 * @return the archived visits, empty if the pet does not belong to the owner or the
+	 * visits to another clinic
+	 */
+	public List<VisitDto> archivedAfter(int ownerId, int petId, int after, int limit) {
+		return this.jdbcTemplate.query(
+				ARCHIVED_AFTER_QUERY, (rs, rowNum) -> new VisitDto(rs.getInt(1), rs.getInt(2),
+						rs.getObject(3, LocalDate.class), rs.getString(4)),
+				ownerId, petId, ClinicContextHolder.getClinicId(), after, limit);
+	}
+
+	private Page page(List<Visit> visits) {
+		boolean hasOlder = visits.size() > this.pageSize;
+		return new Page(hasOlder ? visits.subList(0, this.pageSize) : visits, hasOlder);
+	}
+
+	private static Visit mapVisit(ResultSet rs, int rowNum) throws SQLException {
+		Visit visit = new Visit();
+		visit.setId(rs.getInt(1));
+		visit.setDate(rs.getObject(2, LocalDate.class));
+		visit.setDescription(rs.getString(3));
+		return visit;
+	}
+
+	private static void flush() {
+		if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+			HttpServletResponse response = attributes.getResponse();
+			if (response != null) {
+				try {
+					response.flushBuffer();
+				}
+				catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A page of visits, most recent first.
+	 *
+	 * @param visits the visits on this page
+	 * @param hasOlder whether there are older visits
+	 */
+	public record Page(List<Visit> visits, boolean hasOlder) {
+
+		/**
+		 * Return the oldest visit on this page, the key for the next one.
+		 */
+		public Visit last() {
+			return this.visits.isEmpty() ? null : this.visits.get(this.visits.size() - 1);
+		}
+
+	}
+
+}
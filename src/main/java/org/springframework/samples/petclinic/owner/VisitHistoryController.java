@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Serves the older visits of a pet, a page at a time, as table rows that the owner
+ * details page appends to the pet's visit history.
+ *
+ * @see VisitHistory
+ */
+@Controller
+class VisitHistoryController {
+
+	private final VisitHistory visitHistory;
+
+	VisitHistoryController(VisitHistory visitHistory) {
+		this.visitHistory = visitHistory;
+	}
+
+	@GetMapping("/owners/{ownerId}/pets/{petId}/visits")
+	public String showOlderVisits(@PathVariable int ownerId, @PathVariable int petId,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before, @RequestParam int beforeId,
+			Model model) {
+		model.addAttribute("ownerId", ownerId);
+		model.addAttribute("petId", petId);
+		model.addAttribute("history", this.visitHistory.olderThan(ownerId, petId, before, beforeId));
+		return "owners/visitRows :: rows";
+	}
+
+}
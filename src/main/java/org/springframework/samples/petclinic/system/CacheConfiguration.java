@@ -16,10 +16,13 @@
 
 package org.springframework.samples.petclinic.system;
 
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.cache.autoconfigure.JCacheManagerCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.samples.petclinic.clinic.ClinicKeyGenerator;
 
 import javax.cache.configuration.MutableConfiguration;
 
@@ -27,11 +30,26 @@ import javax.cache.configuration.MutableConfiguration;
  * Cache configuration intended for caches providing the JCache API. This configuration
  * creates the used cache for the application and enables statistics that become
  * accessible via JMX.
+ * <p>
+ * Cached data belongs to a clinic, so cache operations name the
+ * {@link ClinicKeyGenerator} registered here as their {@code keyGenerator}, e.g. through
+ * {@code @CacheConfig(keyGenerator = "keyGenerator")}.
+ * </p>
  */
 @Configuration(proxyBeanMethods = false)
 @EnableCaching
 class CacheConfiguration {
 
+	/**
+	 * The key generator of all caches. It is infrastructure without dependencies, so the
+	 * cache interceptor can look it up early without holding back other beans.
+	 */
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	static ClinicKeyGenerator keyGenerator() {
+		return new ClinicKeyGenerator();
+	}
+
 	@Bean
 	public JCacheManagerCustomizer petclinicCacheConfigurationCustomizer() {
 		return cm -> cm.createCache("vets", cacheConfiguration());
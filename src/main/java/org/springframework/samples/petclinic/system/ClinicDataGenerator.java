@@ -0,0 +1,193 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.springframework.samples.petclinic.system.ClinicDataWriter.Table;
+import org.springframework.util.Assert;
+
+/**
+ * Deterministic generator for synthetic clinics of any size, for load tests, benchmarks
+ * and capacity planning. The same seed and reference date always produce the same rows,
+ * whatever the {@link ClinicDataWriter} they are written to.
+ * <p>
+ * Generated rows use the pet types and specialties of the sample data, so they can be
+ * added to any database initialized with one of the sample {@code data.sql} scripts. Pets
+ * per owner and visits per pet vary uniformly around the requested averages, and there is
+ * one vet for every hundred owners.
+ * </p>
+ *
+ * @see ClinicDataGeneratorCommand
+ */
+public class ClinicDataGenerator {
+
+	private static final String[] FIRST_NAMES = { "George", "Betty", "Eduardo", "Harold", "Peter", "Jean", "Jeff",
+			"Maria", "David", "Carlos", "Helen", "Linda", "Rafael", "Henry", "Sharon", "James" };
+
+	private static final String[] LAST_NAMES = { "Franklin", "Davis", "Rodriquez", "McTavish", "Coleman", "Black",
+			"Escobito", "Schroeder", "Estaban", "Carter", "Leary", "Douglas", "Ortega", "Stevens", "Jenkins" };
+
+	private static final String[] STREETS = { "W. Liberty St.", "E. Washington Ave.", "State St.", "Lake St.",
+			"Grand Ave.", "Main St." };
+
+	private static final String[] CITIES = { "Madison", "Sun Prairie", "McFarland", "Windsor", "Monona", "Waunakee" };
+
+	private static final String[] PET_NAMES = { "Leo", "Basil", "Rosy", "Jewel", "Iggy", "George", "Samantha", "Max",
+			"Lucky", "Mulligan", "Freddy", "Sly", "Bella", "Charlie", "Luna", "Milo", "Daisy", "Oscar", "Coco",
+			"Rocky" };
+
+	private static final String[] DESCRIPTIONS = { "rabies shot", "neutered", "spayed", "checkup", "vaccination",
+			"dental cleaning" };
+
+	private static final int PET_TYPES = 6;
+
+	private static final int SPECIALTIES = 3;
+
+	private static final int OWNERS_PER_VET = 100;
+
+	private final long seed;
+
+	private final LocalDate referenceDate;
+
+	private final int batchSize;
+
+	/**
+	 * Create a generator writing batches of 1000 rows.
+	 * @param seed the random seed
+	 * @param referenceDate the date that visits and birth dates are relative to
+	 */
+	public ClinicDataGenerator(long seed, LocalDate referenceDate) {
+		this(seed, referenceDate, 1_000);
+	}
+
+	public ClinicDataGenerator(long seed, LocalDate referenceDate, int batchSize) {
+		Assert.isTrue(batchSize > 0, "Batch size must be positive");
+		this.seed = seed;
+		this.referenceDate = referenceDate;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Generate a clinic and write it to the given writer.
+	 * @param owners the number of owners
+	 * @param petsPerOwner the average number of pets per owner, at least one
+	 * @param visitsPerPet the average number of visits per pet
+	 * @param writer the writer to send rows to
+	 * @return the number of generated rows
+	 */
+	public Summary generate(int owners, int petsPerOwner, int visitsPerPet, ClinicDataWriter writer) {
+		Assert.isTrue(owners >= 0, "Owners must not be negative");
+		Assert.isTrue(petsPerOwner >= 1, "Pets per owner must be at least 1");
+		Assert.isTrue(visitsPerPet >= 0, "Visits per pet must not be negative");
+		SplittableRandom random = new SplittableRandom(this.seed);
+		Batches batches = new Batches(writer);
+		int ownerId = writer.firstId(Table.OWNERS);
+		int petId = writer.firstId(Table.PETS);
+		int visitId = writer.firstId(Table.VISITS);
+		int vetId = writer.firstId(Table.VETS);
+		int pets = 0;
+		int visits = 0;
+		for (int o = 0; o < owners; o++, ownerId++) {
+			batches.add(Table.OWNERS, ownerId, pick(random, FIRST_NAMES), pick(random, LAST_NAMES),
+					(100 + random.nextInt(9_900)) + " " + pick(random, STREETS), pick(random, CITIES),
+					"608" + (5_550_000 + random.nextInt(10_000)));
+			int petCount = random.nextInt(1, 2 * petsPerOwner);
+			for (int p = 0; p < petCount; p++, petId++, pets++) {
+				int age = random.nextInt(30, 6_000);
+				batches.add(Table.PETS, petId, pick(random, PET_NAMES), this.referenceDate.minusDays(age),
+						random.nextInt(1, PET_TYPES + 1), ownerId);
+				int visitCount = random.nextInt(2 * visitsPerPet + 1);
+				for (int v = 0; v < visitCount; v++, visitId++, visits++) {
+					// mostly history, with the odd appointment in the coming weeks
+					LocalDate date = (random.nextInt(20) == 0) ? this.referenceDate.plusDays(random.nextInt(1, 31))
+							: this.referenceDate.minusDays(random.nextInt(age));
+					batches.add(Table.VISITS, visitId, petId, date, pick(random, DESCRIPTIONS));
+				}
+			}
+		}
+		int vets = owners / OWNERS_PER_VET;
+		for (int v = 0; v < vets; v++, vetId++) {
+			batches.add(Table.VETS, vetId, pick(random, FIRST_NAMES), pick(random, LAST_NAMES));
+			for (int specialty = 1; specialty <= SPECIALTIES; specialty++) {
+				if (random.nextInt(3) == 0) {
+					batches.add(Table.VET_SPECIALTIES, vetId, specialty);
+				}
+			}
+		}
+		batches.flush();
+		Map<Table, Integer> nextIds = new EnumMap<>(Table.class);
+		nextIds.put(Table.OWNERS, ownerId);
+		nextIds.put(Table.PETS, petId);
+		nextIds.put(Table.VISITS, visitId);
+		nextIds.put(Table.VETS, vetId);
+		writer.finish(nextIds);
+		return new Summary(owners, pets, visits, vets);
+	}
+
+	private static String pick(SplittableRandom random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	/**
+	 * The number of rows generated per table.
+	 */
+	public record Summary(int owners, int pets, int visits, int vets) {
+
+	}
+
+	/**
+	 * Pending rows per table. Whenever one table fills a batch, all tables are flushed in
+	 * foreign key order so that children never reach the writer before their parents.
+	 */
+	private final class Batches {
+
+		private final ClinicDataWriter writer;
+
+		private final Map<Table, List<Object[]>> rows = new EnumMap<>(Table.class);
+
+		Batches(ClinicDataWriter writer) {
+			this.writer = writer;
+			for (Table table : Table.values()) {
+				this.rows.put(table, new ArrayList<>(ClinicDataGenerator.this.batchSize));
+			}
+		}
+
+		void add(Table table, Object... row) {
+			List<Object[]> batch = this.rows.get(table);
+			batch.add(row);
+			if (batch.size() >= ClinicDataGenerator.this.batchSize) {
+				flush();
+			}
+		}
+
+		void flush() {
+			this.rows.forEach((table, batch) -> {
+				if (!batch.isEmpty()) {
+					this.writer.write(table, batch);
+					batch.clear();
+				}
+			});
+		}
+
+	}
+
+}
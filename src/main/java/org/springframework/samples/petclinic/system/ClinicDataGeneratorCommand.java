@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.system.ClinicDataWriter.Dialect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates a synthetic clinic on startup, either straight into the configured database
+ * or, when {@code petclinic.datagen.output} is set, as a bulk-load SQL script for the
+ * {@code petclinic.datagen.dialect} database (the {@code database} property by default):
+ *
+ * <pre class="code">
+ * java -jar petclinic.jar --spring.main.web-application-type=none --spring.profiles.active=postgres \
+ *     --petclinic.datagen.owners=1000000
+ * java -jar petclinic.jar --spring.main.web-application-type=none \
+ *     --petclinic.datagen.owners=1000000 --petclinic.datagen.output=clinic.sql --petclinic.datagen.dialect=mysql
+ * </pre>
+ *
+ * @see ClinicDataGenerator
+ */
+@Component
+@ConditionalOnProperty("petclinic.datagen.owners")
+class ClinicDataGeneratorCommand implements ApplicationRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(ClinicDataGeneratorCommand.class);
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final Environment environment;
+
+	ClinicDataGeneratorCommand(JdbcTemplate jdbcTemplate, Environment environment) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.environment = environment;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		ClinicDataGenerator generator = new ClinicDataGenerator(property("seed", Long.class, 42L),
+				LocalDate.parse(property("reference-date", String.class, LocalDate.now().toString())));
+		int owners = property("owners", Integer.class, 0);
+		int petsPerOwner = property("pets-per-owner", Integer.class, 2);
+		int visitsPerPet = property("visits-per-pet", Integer.class, 4);
+		String outputPath = property("output", String.class, null);
+		Path output = (outputPath != null) ? Path.of(outputPath) : null;
+		long start = System.nanoTime();
+		ClinicDataGenerator.Summary summary;
+		if (output != null) {
+			Dialect dialect = Dialect.of(this.environment.getProperty("petclinic.datagen.dialect",
+					this.environment.getProperty("database", "h2")));
+			try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+				summary = generator.generate(owners, petsPerOwner, visitsPerPet,
+						new SqlScriptClinicDataWriter(out, dialect, property("first-id", Integer.class, 1000)));
+			}
+		}
+		else {
+			summary = generator.generate(owners, petsPerOwner, visitsPerPet,
+					new JdbcClinicDataWriter(this.jdbcTemplate));
+		}
+		logger.info("Generated {} owners, {} pets, {} visits and {} vets to {} in {} ms", summary.owners(),
+				summary.pets(), summary.visits(), summary.vets(),
+				(output != null) ? output.toAbsolutePath() : "the database", (System.nanoTime() - start) / 1_000_000);
+	}
+
+	private <T> T property(String name, Class<T> type, T defaultValue) {
+		return this.environment.getProperty("petclinic.datagen." + name, type, defaultValue);
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Destination for the rows produced by a {@link ClinicDataGenerator}. Rows always arrive
+ * in foreign key order: a batch of pets is only written once all of their owners have
+ * been written, and so on.
+ *
+ * @see JdbcClinicDataWriter
+ * @see SqlScriptClinicDataWriter
+ */
+public interface ClinicDataWriter {
+
+	/**
+	 * Return the first id to use for generated rows of the given table.
+	 * @param table a table with an identity column
+	 * @return the first free id
+	 */
+	int firstId(Table table);
+
+	/**
+	 * Write a batch of rows, each holding the values of {@link Table#getColumns()} in
+	 * order. Values are {@link Integer}, {@link String} or {@link java.time.LocalDate}.
+	 * The list is reused for the next batch once this method returns.
+	 * @param table the table to write to
+	 * @param rows the rows to write
+	 */
+	void write(Table table, List<Object[]> rows);
+
+	/**
+	 * Called once all rows have been written, so that identity columns can be moved past
+	 * the generated ids.
+	 * @param nextIds the next free id for each table with an identity column
+	 */
+	void finish(Map<Table, Integer> nextIds);
+
+	/**
+	 * The tables written by the generator, in foreign key order.
+	 */
+	enum Table {
+
+		OWNERS("owners", true, "id", "first_name", "last_name", "address", "city", "telephone"),
+
+		PETS("pets", true, "id", "name", "birth_date", "type_id", "owner_id"),
+
+		VISITS("visits", true, "id", "pet_id", "visit_date", "description"),
+
+		VETS("vets", true, "id", "first_name", "last_name"),
+
+		VET_SPECIALTIES("vet_specialties", false, "vet_id", "specialty_id");
+
+		private final String tableName;
+
+		private final boolean identity;
+
+		private final List<String> columns;
+
+		Table(String tableName, boolean identity, String... columns) {
+			this.tableName = tableName;
+			this.identity = identity;
+			this.columns = List.of(columns);
+		}
+
+		public String getTableName() {
+			return this.tableName;
+		}
+
+		/**
+		 * Return whether the first column is a generated identity column.
+		 */
+		public boolean hasIdentity() {
+			return this.identity;
+		}
+
+		public List<String> getColumns() {
+			return this.columns;
+		}
+
+		/**
+		 * Return an {@code INSERT} statement with one placeholder per column.
+		 */
+		String insertSql() {
+			return "INSERT INTO " + this.tableName + " (" + String.join(", ", this.columns) + ") VALUES ("
+					+ String.join(", ", this.columns.stream().map(column -> "?").toList()) + ")";
+		}
+
+	}
+
+	/**
+	 * The SQL dialects of the supported databases, named after the {@code database}
+	 * property.
+	 */
+	enum Dialect {
+
+		H2, HSQLDB, MYSQL, POSTGRES;
+
+		/**
+		 * Return a statement that makes the identity column of the given table continue
+		 * at {@code nextId}.
+		 */
+		String restartIdentity(Table table, int nextId) {
+			if (this == MYSQL) {
+				return "ALTER TABLE " + table.getTableName() + " AUTO_INCREMENT = " + nextId;
+			}
+			return "ALTER TABLE " + table.getTableName() + " ALTER COLUMN id RESTART WITH " + nextId;
+		}
+
+		/**
+		 * Resolve a dialect from its case-insensitive name, e.g. {@code postgres}.
+		 * @throws IllegalArgumentException if no dialect matches
+		 */
+		public static Dialect of(String name) {
+			return valueOf(name.trim().toUpperCase(Locale.ROOT));
+		}
+
+		/**
+		 * Resolve a dialect from a JDBC
+		 * {@link java.sql.DatabaseMetaData#getDatabaseProductName() product name}.
+		 * @throws IllegalArgumentException if the database is not supported
+		 */
+		static Dialect forProductName(String productName) {
+			String product = productName.toLowerCase(Locale.ROOT);
+			if (product.contains("h2")) {
+				return H2;
+			}
+			if (product.contains("hsql")) {
+				return HSQLDB;
+			}
+			if (product.contains("mysql") || product.contains("mariadb")) {
+				return MYSQL;
+			}
+			if (product.contains("postgres")) {
+				return POSTGRES;
+			}
+			throw new IllegalArgumentException("Unsupported database: " + productName);
+		}
+
+	}
+
+}
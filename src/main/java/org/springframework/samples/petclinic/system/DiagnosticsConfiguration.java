@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Opt-in request diagnostics, enabled with {@code petclinic.diagnostics.enabled=true}.
+ * Requests are flagged when they exceed any of these thresholds:
+ * <ul>
+ * <li>{@code petclinic.diagnostics.slow-request-threshold} (500ms)</li>
+ * <li>{@code petclinic.diagnostics.statement-threshold} (25 SQL statements)</li>
+ * <li>{@code petclinic.diagnostics.repeated-statement-threshold} (5 executions of the
+ * same statement)</li>
+ * </ul>
+ * The last {@code petclinic.diagnostics.history-size} (50) flagged requests are kept for
+ * {@code /actuator/diagnostics}.
+ *
+ * @see RequestDiagnostics
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("petclinic.diagnostics.enabled")
+class DiagnosticsConfiguration implements WebMvcConfigurer {
+
+	private final RequestDiagnostics diagnostics;
+
+	DiagnosticsConfiguration(@Value("${petclinic.diagnostics.slow-request-threshold:500ms}") Duration slowRequest,
+			@Value("${petclinic.diagnostics.statement-threshold:25}") int statements,
+			@Value("${petclinic.diagnostics.repeated-statement-threshold:5}") int repeatedStatements,
+			@Value("${petclinic.diagnostics.history-size:50}") int historySize) {
+		this.diagnostics = new RequestDiagnostics(
+				new RequestDiagnostics.Thresholds(slowRequest, statements, repeatedStatements), historySize);
+	}
+
+	@Bean
+	HibernatePropertiesCustomizer diagnosticsStatementInspector() {
+		return (properties) -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, this.diagnostics);
+	}
+
+	@Bean
+	DiagnosticsEndpoint diagnosticsEndpoint() {
+		return new DiagnosticsEndpoint(this.diagnostics);
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(this.diagnostics);
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.samples.petclinic.system.RequestDiagnostics.FlaggedRequest;
+import org.springframework.samples.petclinic.system.RequestDiagnostics.Thresholds;
+
+/**
+ * Actuator endpoint listing the most recent requests flagged by
+ * {@link RequestDiagnostics}. A {@code DELETE} clears the list.
+ */
+@Endpoint(id = "diagnostics")
+class DiagnosticsEndpoint {
+
+	private final RequestDiagnostics diagnostics;
+
+	DiagnosticsEndpoint(RequestDiagnostics diagnostics) {
+		this.diagnostics = diagnostics;
+	}
+
+	@ReadOperation
+	DiagnosticsReport report() {
+		return new DiagnosticsReport(this.diagnostics.getThresholds(), this.diagnostics.getFlaggedRequests());
+	}
+
+	@DeleteOperation
+	void clear() {
+		this.diagnostics.clear();
+	}
+
+	/**
+	 * The configured thresholds and the flagged requests, newest first.
+	 */
+	record DiagnosticsReport(Thresholds thresholds, List<FlaggedRequest> flaggedRequests) {
+
+	}
+
+}
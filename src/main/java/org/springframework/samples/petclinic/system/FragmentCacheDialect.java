@@ -0,0 +1,151 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.context.IWebContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.standard.StandardDialect;
+import org.thymeleaf.standard.expression.StandardExpressions;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thymeleaf dialect that renders a fragment once per locale and data version and serves
+ * the HTML from the {@value #CACHE_NAME} cache afterwards: <pre class="code">
+ * &lt;nav pc:fragment="fragments/navbar :: navbar" pc:key="${menu}"&gt;&lt;/nav&gt;
+ * </pre>
+ * <p>
+ * The host element is replaced by the rendered fragment. {@code pc:key} must capture
+ * everything the fragment shows that is not a message, e.g. a version of the data it
+ * renders, so that changed data renders under a new key. Messages only change with the
+ * application context, or when the cache is cleared through {@code /actuator/caches}.
+ * Fragments must not depend on the session, so URL rewriting is disabled.
+ * </p>
+ * <p>
+ * A fragment is rendered in the {@linkplain WebConfiguration#supportedLocale(Locale)
+ * supported locale} of the request, so that an unknown {@code ?lang=} adds no entries.
+ * The cache is bounded by {@code spring.cache.caffeine.spec}.
+ * </p>
+ * <p>
+ * Set {@code petclinic.fragments.cache.enabled=false} to render on every request.
+ * </p>
+ */
+@Component
+public class FragmentCacheDialect extends AbstractProcessorDialect {
+
+	static final String CACHE_NAME = "fragments";
+
+	private final ObjectProvider<ITemplateEngine> templateEngine;
+
+	private final ObjectProvider<CacheManager> cacheManager;
+
+	private final boolean enabled;
+
+	FragmentCacheDialect(ObjectProvider<ITemplateEngine> templateEngine, ObjectProvider<CacheManager> cacheManager,
+			@Value("${petclinic.fragments.cache.enabled:true}") boolean enabled) {
+		super("Fragment cache", "pc", StandardDialect.PROCESSOR_PRECEDENCE);
+		this.templateEngine = templateEngine;
+		this.cacheManager = cacheManager;
+		this.enabled = enabled;
+	}
+
+	@Override
+	public Set<IProcessor> getProcessors(String dialectPrefix) {
+		return Set.of(new CachedFragmentProcessor(dialectPrefix));
+	}
+
+	private String render(ITemplateContext context, FragmentKey key) {
+		CacheManager cacheManager = this.enabled ? this.cacheManager.getIfAvailable() : null;
+		Cache cache = (cacheManager != null) ? cacheManager.getCache(CACHE_NAME) : null;
+		if (cache == null) {
+			return renderFragment(context, key);
+		}
+		return cache.get(key, () -> renderFragment(context, key));
+	}
+
+	private String renderFragment(ITemplateContext context, FragmentKey key) {
+		Map<String, Object> variables = new HashMap<>();
+		for (String name : context.getVariableNames()) {
+			variables.put(name, context.getVariable(name));
+		}
+		IContext fragmentContext = (context instanceof IWebContext webContext)
+				? new WebContext(webContext.getExchange(), key.locale(), variables)
+				: new Context(key.locale(), variables);
+		return this.templateEngine.getObject().process(key.template(), Set.of(key.selector()), fragmentContext);
+	}
+
+	/**
+	 * Cache key of a rendered fragment.
+	 */
+	record FragmentKey(String template, String selector, Locale locale, Object key) {
+
+	}
+
+	/**
+	 * Replaces its host element with the cached rendering of the fragment named by
+	 * {@code pc:fragment}, as {@code template :: selector}.
+	 */
+	private final class CachedFragmentProcessor extends AbstractAttributeTagProcessor {
+
+		private final String keyAttribute;
+
+		CachedFragmentProcessor(String dialectPrefix) {
+			super(TemplateMode.HTML, dialectPrefix, null, false, "fragment", true, StandardDialect.PROCESSOR_PRECEDENCE,
+					true);
+			this.keyAttribute = dialectPrefix + ":key";
+		}
+
+		@Override
+		protected void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName attributeName,
+				String attributeValue, IElementTagStructureHandler structureHandler) {
+			int separator = attributeValue.indexOf("::");
+			if (separator < 0) {
+				throw new IllegalArgumentException(
+						"Expected 'template :: selector' in " + attributeName + " but got '" + attributeValue + "'");
+			}
+			String keyExpression = tag.getAttributeValue(this.keyAttribute);
+			Object key = (keyExpression != null) ? StandardExpressions.getExpressionParser(context.getConfiguration())
+				.parseExpression(context, keyExpression)
+				.execute(context) : null;
+			FragmentKey fragmentKey = new FragmentKey(attributeValue.substring(0, separator).trim(),
+					attributeValue.substring(separator + 2).trim(),
+					WebConfiguration.supportedLocale(context.getLocale()), key);
+			structureHandler.replaceWith(render(context, fragmentKey), false);
+		}
+
+	}
+
+}
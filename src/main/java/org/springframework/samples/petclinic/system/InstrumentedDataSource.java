@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} that counts the statements, rows and blob bytes of every connection
+ * it hands out into the {@link JdbcStatistics} of the current thread. Connections,
+ * statements and result sets are wrapped in JDK proxies, so every call goes through a
+ * reflective invocation and a thread-local lookup. As request metrics are enabled by
+ * default, the calls of every controller request are also counted; set
+ * {@code petclinic.metrics.enabled=false} to remove the wrapper altogether.
+ * <p>
+ * Pool metadata and metrics still reach the target pool, as Spring Boot unwraps
+ * {@link DelegatingDataSource delegating data sources}.
+ * </p>
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+	private static final Set<Class<?>> INSTRUMENTED_TYPES = Set.of(Statement.class, PreparedStatement.class,
+			CallableStatement.class, ResultSet.class);
+
+	public InstrumentedDataSource(DataSource targetDataSource) {
+		super(targetDataSource);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return instrument(Connection.class, obtainTargetDataSource().getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return instrument(Connection.class, obtainTargetDataSource().getConnection(username, password));
+	}
+
+	private static <T> T instrument(Class<T> type, T target) {
+		return type.cast(Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] { type },
+				new CountingInvocationHandler(target)));
+	}
+
+	/**
+	 * Counts the JDBC calls of interest and wraps any statement or result set it returns.
+	 */
+	private static final class CountingInvocationHandler implements InvocationHandler {
+
+		private final Object target;
+
+		CountingInvocationHandler(Object target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.equals("equals")) {
+				return proxy == args[0];
+			}
+			if (name.equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			}
+			Object result;
+			try {
+				result = method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+			JdbcStatistics statistics = JdbcStatistics.current();
+			if (statistics != null) {
+				count(statistics, name, result);
+			}
+			Class<?> returnType = method.getReturnType();
+			if (result != null && INSTRUMENTED_TYPES.contains(returnType)) {
+				return instrument(returnType, result);
+			}
+			return result;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> T instrument(Class<T> type, Object target) {
+			return InstrumentedDataSource.instrument(type, (T) target);
+		}
+
+		private void count(JdbcStatistics statistics, String name, Object result) throws SQLException {
+			if (this.target instanceof ResultSet) {
+				if (name.equals("next") && Boolean.TRUE.equals(result)) {
+					statistics.rowFetched();
+				}
+				else if (name.equals("getBytes") && result != null) {
+					statistics.blobRead(((byte[]) result).length);
+				}
+				else if (name.equals("getBlob") && result != null) {
+					statistics.blobRead(((Blob) result).length());
+				}
+			}
+			else if (this.target instanceof Statement && name.startsWith("execute")) {
+				statistics.statementExecuted();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.system.ClinicDataWriter.Dialect;
+
+/**
+ * {@link ClinicDataWriter} that inserts rows into a live database with batched JDBC
+ * statements. Generated ids continue after the highest existing id of each table, and the
+ * identity columns are moved past them at the end.
+ */
+public class JdbcClinicDataWriter implements ClinicDataWriter {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final Dialect dialect;
+
+	public JdbcClinicDataWriter(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.dialect = jdbcTemplate.execute((ConnectionCallback<Dialect>) (con) -> Dialect
+			.forProductName(con.getMetaData().getDatabaseProductName()));
+	}
+
+	@Override
+	public int firstId(Table table) {
+		Integer max = this.jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table.getTableName(), Integer.class);
+		return (max != null) ? max + 1 : 1;
+	}
+
+	@Override
+	public void write(Table table, List<Object[]> rows) {
+		this.jdbcTemplate.batchUpdate(table.insertSql(), rows);
+	}
+
+	@Override
+	public void finish(Map<Table, Integer> nextIds) {
+		nextIds.forEach((table, nextId) -> this.jdbcTemplate.execute(this.dialect.restartIdentity(table, nextId)));
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+/**
+ * JDBC work done by the current request: statements executed, rows fetched and blob bytes
+ * read. Bound to the request thread by {@link RequestMetricsInterceptor} and filled in by
+ * {@link InstrumentedDataSource}; JDBC calls outside of a request are not counted.
+ */
+public final class JdbcStatistics {
+
+	private static final ThreadLocal<JdbcStatistics> current = new ThreadLocal<>();
+
+	private long statements;
+
+	private long rows;
+
+	private long blobBytes;
+
+	private JdbcStatistics() {
+	}
+
+	/**
+	 * Start counting JDBC work on the current thread.
+	 * @return the statistics bound to the thread
+	 */
+	public static JdbcStatistics start() {
+		JdbcStatistics statistics = new JdbcStatistics();
+		current.set(statistics);
+		return statistics;
+	}
+
+	/**
+	 * Return the statistics bound to the current thread, or {@code null} if JDBC work is
+	 * not being counted.
+	 */
+	public static JdbcStatistics current() {
+		return current.get();
+	}
+
+	/**
+	 * Stop counting JDBC work on the current thread.
+	 */
+	public static void stop() {
+		current.remove();
+	}
+
+	void statementExecuted() {
+		this.statements++;
+	}
+
+	void rowFetched() {
+		this.rows++;
+	}
+
+	void blobRead(long bytes) {
+		this.blobBytes += bytes;
+	}
+
+	public long getStatements() {
+		return this.statements;
+	}
+
+	public long getRows() {
+		return this.rows;
+	}
+
+	public long getBlobBytes() {
+		return this.blobBytes;
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per-endpoint request metrics, including the JDBC work done by each request. Enabled
+ * unless {@code petclinic.metrics.enabled} is {@code false}; the meters are exposed for
+ * Prometheus at {@code /actuator/prometheus}.
+ *
+ * @see RequestMetricsInterceptor
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "petclinic.metrics.enabled", matchIfMissing = true)
+class MetricsConfiguration implements WebMvcConfigurer {
+
+	private final ObjectProvider<MeterRegistry> registry;
+
+	MetricsConfiguration(ObjectProvider<MeterRegistry> registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Instrument the application's {@code dataSource} only, so that pools behind a
+	 * routing data source are not counted twice.
+	 */
+	@Bean
+	static BeanPostProcessor instrumentedDataSourcePostProcessor() {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)
+						&& "dataSource".equals(beanName)) {
+					return new InstrumentedDataSource(dataSource);
+				}
+				return bean;
+			}
+
+		};
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		this.registry
+			.ifAvailable((meterRegistry) -> registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry)));
+	}
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint that gathers the numbers needed during an incident into one document,
+ * at {@code /actuator/petclinic-perf}:
+ * <ul>
+ * <li>hit, miss, put and eviction counts of every cache, as bound to Micrometer by Spring
+ * Boot</li>
+ * <li>usage and connection acquire times of every Hikari pool, i.e. the primary and, with
+ * a replica configured, the replica</li>
+ * <li>Hibernate entity and collection load counts</li>
+ * <li>the queries with the highest maximum execution time, and statements slower than
+ * {@code hibernate.log_slow_query}</li>
+ * </ul>
+ * Everything is read from counters that are maintained anyway, so the endpoint is cheap
+ * enough to poll every few seconds. Hibernate only maintains its counters when
+ * {@code spring.jpa.properties.hibernate.generate_statistics} is set, e.g. with the
+ * {@code perf} profile; otherwise the Hibernate section is reported as not enabled.
+ */
+@Component
+@Endpoint(id = "petclinicperf")
+class PerformanceEndpoint {
+
+	private static final int TOP_QUERIES = 10;
+
+	private final ObjectProvider<DataSource> dataSource;
+
+	private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	PerformanceEndpoint(ObjectProvider<DataSource> dataSource,
+			ObjectProvider<EntityManagerFactory> entityManagerFactory, ObjectProvider<MeterRegistry> meterRegistry) {
+		this.dataSource = dataSource;
+		this.entityManagerFactory = entityManagerFactory;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@ReadOperation
+	public PerformanceReport report() {
+		return new PerformanceReport(Instant.now(), caches(), pools(), hibernate());
+	}
+
+	private Map<String, CacheStats> caches() {
+		MeterRegistry registry = this.meterRegistry.getIfAvailable();
+		Map<String, CacheStats> caches = new TreeMap<>();
+		if (registry == null) {
+			return caches;
+		}
+		for (FunctionCounter gets : registry.find("cache.gets").tag("result", "hit").functionCounters()) {
+			String cache = gets.getId().getTag("cache");
+			long hits = (long) gets.count();
+			long misses = (long) count(registry, "cache.gets", cache, Tags.of("result", "miss"));
+			caches.put(cache,
+					new CacheStats(hits + misses, hits, misses,
+							(hits + misses > 0) ? 100f * hits / (hits + misses) : 0f,
+							(long) count(registry, "cache.puts", cache, Tags.empty()),
+							(long) count(registry, "cache.evictions", cache, Tags.empty())));
+		}
+		return caches;
+	}
+
+	private static double count(MeterRegistry registry, String name, String cache, Tags tags) {
+		return registry.find(name)
+			.tag("cache", cache)
+			.tags(tags)
+			.meters()
+			.stream()
+			.flatMap((meter) -> StreamSupport.stream(meter.measure().spliterator(), false))
+			.mapToDouble(Measurement::getValue)
+			.sum();
+	}
+
+	private List<PoolStats> pools() {
+		// the routing data source and the pools behind it are all beans, so a pool can be
+		// reached more than once
+		Map<String, HikariDataSource> pools = new TreeMap<>();
+		this.dataSource.orderedStream().forEach((dataSource) -> {
+			HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class,
+					HikariDataSource.class);
+			if (hikari != null) {
+				pools.putIfAbsent(hikari.getPoolName(), hikari);
+			}
+		});
+		return pools.values().stream().map(this::pool).toList();
+	}
+
+	private PoolStats pool(HikariDataSource hikari) {
+		HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+		Timer acquire = null;
+		double timeouts = 0;
+		MeterRegistry registry = this.meterRegistry.getIfAvailable();
+		if (registry != null) {
+			acquire = registry.find("hikaricp.connections.acquire").tag("pool", hikari.getPoolName()).timer();
+			timeouts = registry.find("hikaricp.connections.timeout")
+				.tag("pool", hikari.getPoolName())
+				.counters()
+				.stream()
+				.mapToDouble((counter) -> counter.count())
+				.sum();
+		}
+		return new PoolStats(hikari.getPoolName(), hikari.getMaximumPoolSize(),
+				(pool != null) ? pool.getActiveConnections() : 0, (pool != null) ? pool.getIdleConnections() : 0,
+				(pool != null) ? pool.getThreadsAwaitingConnection() : 0, (acquire != null) ? acquire.count() : 0,
+				(acquire != null) ? acquire.mean(TimeUnit.MILLISECONDS) : 0,
+				(acquire != null) ? acquire.max(TimeUnit.MILLISECONDS) : 0, (long) timeouts);
+	}
+
+	private HibernateStats hibernate() {
+		EntityManagerFactory entityManagerFactory = this.entityManagerFactory.getIfUnique();
+		if (entityManagerFactory == null) {
+			return null;
+		}
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		if (!statistics.isStatisticsEnabled()) {
+			return new HibernateStats(false, 0, 0, 0, 0, 0, 0, Map.of(), Map.of(), List.of(), List.of());
+		}
+		Map<String, Long> entityLoads = new TreeMap<>();
+		for (String entity : statistics.getEntityNames()) {
+			entityLoads.put(entity.substring(entity.lastIndexOf('.') + 1),
+					statistics.getEntityStatistics(entity).getLoadCount());
+		}
+		Map<String, Long> collectionLoads = new TreeMap<>();
+		for (String role : statistics.getCollectionRoleNames()) {
+			collectionLoads.put(role.substring(role.lastIndexOf('.', role.lastIndexOf('.') - 1) + 1),
+					statistics.getCollectionStatistics(role).getLoadCount());
+		}
+		List<QueryStats> topQueries = Arrays.stream(statistics.getQueries()).map((query) -> {
+			QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+			return new QueryStats(query, queryStatistics.getExecutionCount(), queryStatistics.getExecutionAvgTime(),
+					queryStatistics.getExecutionMaxTime(), queryStatistics.getExecutionRowCount());
+		}).sorted(Comparator.comparingLong(QueryStats::maxMillis).reversed()).limit(TOP_QUERIES).toList();
+		List<SlowStatement> slowStatements = statistics.getSlowQueries()
+			.entrySet()
+			.stream()
+			.map((entry) -> new SlowStatement(entry.getKey(), entry.getValue()))
+			.sorted(Comparator.comparingLong(SlowStatement::millis).reversed())
+			.limit(TOP_QUERIES)
+			.toList();
+		return new HibernateStats(true, statistics.getEntityLoadCount(), statistics.getEntityFetchCount(),
+				statistics.getCollectionLoadCount(), statistics.getCollectionFetchCount(),
+				statistics.getQueryExecutionCount(), statistics.getPrepareStatementCount(), entityLoads,
+				collectionLoads, topQueries, slowStatements);
+	}
+
+	/**
+	 * Everything the endpoint reports. Sections are {@code null} when the application
+	 * runs without them.
+	 */
+	record PerformanceReport(Instant timestamp, Map<String, CacheStats> caches, List<PoolStats> pools,
+			HibernateStats hibernate) {
+
+	}
+
+	/**
+	 * Hit and miss counts of one cache.
+	 */
+	record CacheStats(long gets, long hits, long misses, float hitPercentage, long puts, long evictions) {
+
+	}
+
+	/**
+	 * Usage of one connection pool, and the time callers waited for a connection.
+	 */
+	record PoolStats(String name, int maximumSize, int active, int idle, int awaitingConnection, long acquireCount,
+			double acquireMeanMillis, double acquireMaxMillis, long timeouts) {
+
+	}
+
+	/**
+	 * Hibernate counters since startup.
+	 */
+	record HibernateStats(boolean enabled, long entityLoads, long entityFetches, long collectionLoads,
+			long collectionFetches, long queryExecutions, long preparedStatements,
+			Map<String, Long> entityLoadsByEntity, Map<String, Long> collectionLoadsByRole, List<QueryStats> topQueries,
+			List<SlowStatement> slowStatements) {
+
+	}
+
+	/**
+	 * Execution statistics of one query.
+	 */
+	record QueryStats(String query, long executions, long averageMillis, long maxMillis, long rows) {
+
+	}
+
+	/**
+	 * A SQL statement slower than {@code hibernate.log_slow_query}.
+	 */
+	record SlowStatement(String sql, long millis) {
+
+	}
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Read-only {@link DataSource} that hands out replica connections while the replica is
+ * reachable and no further behind the primary than the tolerated lag, and primary
+ * connections otherwise (unless fallback is disabled, in which case reads fail).
+ * <p>
+ * The replica is checked at most once per check interval, by the first caller after the
+ * interval has passed, with an optional lag query returning the replication delay in
+ * seconds, e.g. for PostgreSQL:
+ * </p>
+ * <pre class="code">
+ * SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+ * </pre>
+ *
+ * @see ReplicaDataSourceConfiguration
+ */
+public class ReplicaDataSource extends DelegatingDataSource {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+	private final DataSource primary;
+
+	private final String lagQuery;
+
+	private final Duration maxLag;
+
+	private final long checkIntervalNanos;
+
+	private final boolean fallback;
+
+	private final AtomicLong nextCheck = new AtomicLong(System.nanoTime());
+
+	private volatile boolean usable = true;
+
+	private volatile Duration lag = Duration.ZERO;
+
+	/**
+	 * Create a new instance.
+	 * @param replica the replica pool
+	 * @param primary the primary pool to fall back to
+	 * @param lagQuery a query returning the replication lag in seconds, or {@code null}
+	 * to only check that the replica is reachable
+	 * @param maxLag the tolerated replication lag
+	 * @param checkInterval how long a check result is trusted
+	 * @param fallback whether to read from the primary while the replica is not usable
+	 */
+	public ReplicaDataSource(DataSource replica, DataSource primary, String lagQuery, Duration maxLag,
+			Duration checkInterval, boolean fallback) {
+		super(replica);
+		this.primary = primary;
+		this.lagQuery = lagQuery;
+		this.maxLag = maxLag;
+		this.checkIntervalNanos = checkInterval.toNanos();
+		this.fallback = fallback;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return getConnection(DataSource::getConnection);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return getConnection((dataSource) -> dataSource.getConnection(username, password));
+	}
+
+	private Connection getConnection(ConnectionFactory factory) throws SQLException {
+		if (isReplicaUsable()) {
+			try {
+				return factory.connect(obtainTargetDataSource());
+			}
+			catch (SQLException ex) {
+				markUnusable("unreachable: " + ex.getMessage());
+				if (!this.fallback) {
+					throw ex;
+				}
+			}
+		}
+		else if (!this.fallback) {
+			throw new SQLException("Replica is not usable (lag " + this.lag + ", tolerated " + this.maxLag
+					+ ") and fallback to the primary is disabled");
+		}
+		return factory.connect(this.primary);
+	}
+
+	/**
+	 * Return whether reads currently go to the replica, checking it first if the last
+	 * check is older than the check interval.
+	 */
+	public boolean isReplicaUsable() {
+		long now = System.nanoTime();
+		long next = this.nextCheck.get();
+		if (now - next >= 0 && this.nextCheck.compareAndSet(next, now + this.checkIntervalNanos)) {
+			check();
+		}
+		return this.usable;
+	}
+
+	/**
+	 * Return the replication lag measured by the last check.
+	 */
+	public Duration getLag() {
+		return this.lag;
+	}
+
+	private void check() {
+		try (Connection connection = obtainTargetDataSource().getConnection()) {
+			if (this.lagQuery != null) {
+				try (Statement statement = connection.createStatement();
+						ResultSet resultSet = statement.executeQuery(this.lagQuery)) {
+					double seconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+					this.lag = Duration.ofMillis((long) (seconds * 1000));
+				}
+			}
+			if (this.lag.compareTo(this.maxLag) > 0) {
+				markUnusable("lagging by " + this.lag);
+			}
+			else if (!this.usable) {
+				logger.info("Replica is usable again, lagging by {}", this.lag);
+				this.usable = true;
+			}
+		}
+		catch (SQLException ex) {
+			markUnusable("unreachable: " + ex.getMessage());
+		}
+	}
+
+	private void markUnusable(String reason) {
+		if (this.usable) {
+			logger.warn("Replica is not usable, {}; {}", reason,
+					this.fallback ? "reading from the primary" : "failing reads");
+		}
+		this.usable = false;
+	}
+
+	/**
+	 * Opens a connection from the replica or the primary pool.
+	 */
+	@FunctionalInterface
+	private interface ConnectionFactory {
+
+		Connection connect(DataSource dataSource) throws SQLException;
+
+	}
+
+}
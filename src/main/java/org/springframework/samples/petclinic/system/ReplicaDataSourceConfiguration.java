@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.util.StringUtils;
+
+/**
+ * Sends read-only transactions to a replica pool and everything else to the primary pool.
+ * Enabled by setting {@code petclinic.datasource.replica.url}; the replica pool can be
+ * tuned with {@code petclinic.datasource.replica.hikari.*} like the primary one.
+ * <p>
+ * The {@code dataSource} bean is a {@link LazyConnectionDataSourceProxy}: the physical
+ * connection is only fetched at the first statement, after the transaction manager has
+ * marked the connection read-only, so {@code @Transactional(readOnly = true)} alone
+ * decides the target. Reads that must see their own writes belong in a read-write
+ * transaction.
+ * </p>
+ *
+ * @see ReplicaDataSource
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("petclinic.datasource.replica.url")
+class ReplicaDataSourceConfiguration {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	@ConfigurationProperties("petclinic.datasource.replica.hikari")
+	HikariDataSource replicaDataSource(@Value("${petclinic.datasource.replica.url}") String url,
+			@Value("${petclinic.datasource.replica.username:}") String username,
+			@Value("${petclinic.datasource.replica.password:}") String password) {
+		HikariDataSource replica = DataSourceBuilder.create()
+			.type(HikariDataSource.class)
+			.url(url)
+			.username(username)
+			.password(password)
+			.build();
+		replica.setPoolName("petclinic-replica");
+		return replica;
+	}
+
+	@Bean
+	@Primary
+	LazyConnectionDataSourceProxy dataSource(@Qualifier("primaryDataSource") DataSource primary,
+			@Qualifier("replicaDataSource") DataSource replica,
+			@Value("${petclinic.datasource.replica.lag-query:}") String lagQuery,
+			@Value("${petclinic.datasource.replica.max-lag:5s}") Duration maxLag,
+			@Value("${petclinic.datasource.replica.check-interval:5s}") Duration checkInterval,
+			@Value("${petclinic.datasource.replica.fallback:true}") boolean fallback,
+			@Value("${petclinic.datasource.replica.initialize:false}") boolean initialize,
+			@Value("${database}") String database, ResourceLoader resourceLoader) {
+		if (initialize) {
+			// a local replica, e.g. a second in-memory H2, gets the primary's scripts
+			// instead of replication
+			DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(
+					resourceLoader.getResource("classpath:db/" + database + "/schema.sql"),
+					resourceLoader.getResource("classpath:db/" + database + "/data.sql")), replica);
+		}
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+		dataSource.setReadOnlyDataSource(new ReplicaDataSource(replica, primary,
+				StringUtils.hasText(lagQuery) ? lagQuery : null, maxLag, checkInterval, fallback));
+		return dataSource;
+	}
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Traces the SQL issued by each request, through Hibernate's {@link StatementInspector}
+ * hook, and flags requests that are slow, run too many statements, or run the same
+ * statement over and over again, the usual sign of an N+1 select. Flagged requests are
+ * logged with their endpoint, timings and SQL fingerprints, as SLF4J key/value pairs for
+ * structured logging, and the most recent ones are kept for the
+ * {@link DiagnosticsEndpoint}.
+ * <p>
+ * Statements are traced on the request thread, which an asynchronous request releases
+ * when its handler returns. The trace is unbound from the thread at that point, so that
+ * it does not pick up the statements of the next request served on it.
+ * </p>
+ *
+ * @see DiagnosticsConfiguration
+ */
+class RequestDiagnostics implements AsyncHandlerInterceptor, StatementInspector {
+
+	private static final Logger logger = LoggerFactory.getLogger(RequestDiagnostics.class);
+
+	private static final String TRACE_ATTRIBUTE = RequestDiagnostics.class.getName() + ".trace";
+
+	private static final int REPORTED_STATEMENTS = 10;
+
+	private static final ThreadLocal<Trace> currentTrace = new ThreadLocal<>();
+
+	private final Thresholds thresholds;
+
+	private final int historySize;
+
+	private final Deque<FlaggedRequest> flagged = new ArrayDeque<>();
+
+	RequestDiagnostics(Thresholds thresholds, int historySize) {
+		this.thresholds = thresholds;
+		this.historySize = historySize;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		Trace trace = currentTrace.get();
+		if (trace != null) {
+			trace.statements.merge(SqlFingerprint.of(sql), 1, Integer::sum);
+			trace.statementCount++;
+		}
+		return sql;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (RequestMetricsInterceptor.isApplicationHandler(handler)) {
+			Trace trace = new Trace(RequestMetricsInterceptor.endpoint((HandlerMethod) handler), request.getMethod(),
+					request.getRequestURI());
+			request.setAttribute(TRACE_ATTRIBUTE, trace);
+			currentTrace.set(trace);
+		}
+		return true;
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) {
+		currentTrace.remove();
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		if (!(request.getAttribute(TRACE_ATTRIBUTE) instanceof Trace trace)) {
+			return;
+		}
+		request.removeAttribute(TRACE_ATTRIBUTE);
+		currentTrace.remove();
+		long durationMillis = (System.nanoTime() - trace.startNanos) / 1_000_000;
+		List<String> reasons = new ArrayList<>();
+		if (durationMillis >= this.thresholds.slowRequest().toMillis()) {
+			reasons.add("slow");
+		}
+		if (trace.statementCount >= this.thresholds.statements()) {
+			reasons.add("statements");
+		}
+		int maxRepeats = trace.statements.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+		if (maxRepeats >= this.thresholds.repeatedStatements()) {
+			reasons.add("repeated-statements");
+		}
+		if (!reasons.isEmpty()) {
+			record(new FlaggedRequest(Instant.now(), trace.endpoint, trace.method, trace.uri, response.getStatus(),
+					durationMillis, trace.statementCount, reasons, trace.topStatements()));
+		}
+	}
+
+	private void record(FlaggedRequest request) {
+		logger.atWarn()
+			.setMessage("Flagged {} request {} {} ({}): {} ms, {} statements")
+			.addArgument(request.reasons())
+			.addArgument(request.method())
+			.addArgument(request.uri())
+			.addArgument(request.endpoint())
+			.addArgument(request.durationMillis())
+			.addArgument(request.statementCount())
+			.addKeyValue("endpoint", request.endpoint())
+			.addKeyValue("reasons", request.reasons())
+			.addKeyValue("durationMs", request.durationMillis())
+			.addKeyValue("statementCount", request.statementCount())
+			.addKeyValue("statements", request.statements())
+			.log();
+		synchronized (this.flagged) {
+			if (this.flagged.size() == this.historySize) {
+				this.flagged.removeLast();
+			}
+			this.flagged.addFirst(request);
+		}
+	}
+
+	/**
+	 * Return the most recent flagged requests, newest first.
+	 */
+	List<FlaggedRequest> getFlaggedRequests() {
+		synchronized (this.flagged) {
+			return List.copyOf(this.flagged);
+		}
+	}
+
+	void clear() {
+		synchronized (this.flagged) {
+			this.flagged.clear();
+		}
+	}
+
+	Thresholds getThresholds() {
+		return this.thresholds;
+	}
+
+	/**
+	 * The limits above which a request is flagged.
+	 *
+	 * @param slowRequest the request duration
+	 * @param statements the number of SQL statements per request
+	 * @param repeatedStatements the number of executions of the same statement per
+	 * request
+	 */
+	record Thresholds(Duration slowRequest, int statements, int repeatedStatements) {
+
+	}
+
+	/**
+	 * A request that exceeded at least one threshold.
+	 */
+	record FlaggedRequest(Instant timestamp, String endpoint, String method, String uri, int status,
+			long durationMillis, int statementCount, List<String> reasons, List<StatementCount> statements) {
+
+	}
+
+	/**
+	 * How often a statement fingerprint ran during a request.
+	 */
+	record StatementCount(String sql, int count) {
+
+	}
+
+	/**
+	 * The statements of the request in progress on a thread.
+	 */
+	private static final class Trace {
+
+		private final long startNanos = System.nanoTime();
+
+		private final String endpoint;
+
+		private final String method;
+
+		private final String uri;
+
+		private final Map<String, Integer> statements = new LinkedHashMap<>();
+
+		private int statementCount;
+
+		Trace(String endpoint, String method, String uri) {
+			this.endpoint = endpoint;
+			this.method = method;
+			this.uri = uri;
+		}
+
+		List<StatementCount> topStatements() {
+			return this.statements.entrySet()
+				.stream()
+				.map((entry) -> new StatementCount(entry.getKey(), entry.getValue()))
+				.sorted(Comparator.comparingInt(StatementCount::count).reversed())
+				.limit(REPORTED_STATEMENTS)
+				.toList();
+		}
+
+	}
+
+}
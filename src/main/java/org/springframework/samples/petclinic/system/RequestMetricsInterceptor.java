@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Records the latency of every Petclinic controller method, together with the JDBC
+ * statements, rows and blob bytes it caused, all tagged by {@code endpoint} (e.g.
+ * {@code OwnerController.showOwner}):
+ * <ul>
+ * <li>{@code petclinic.requests}: timer with a percentile histogram</li>
+ * <li>{@code petclinic.requests.jdbc.statements}: statements executed per request</li>
+ * <li>{@code petclinic.requests.jdbc.rows}: result set rows fetched per request</li>
+ * <li>{@code petclinic.requests.jdbc.blob}: blob bytes read per request</li>
+ * </ul>
+ * <p>
+ * The JDBC work is counted on the request thread. An asynchronous request releases that
+ * thread when its handler returns, so counting stops there; the thread-bound statistics
+ * would otherwise be carried over to the next request served on the thread.
+ * </p>
+ *
+ * @see InstrumentedDataSource
+ */
+class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String SAMPLE_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".sample";
+
+	private static final String APPLICATION_PACKAGE = "org.springframework.samples.petclinic";
+
+	private final MeterRegistry registry;
+
+	RequestMetricsInterceptor(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (isApplicationHandler(handler)) {
+			request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(this.registry));
+			JdbcStatistics.start();
+		}
+		return true;
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) {
+		JdbcStatistics.stop();
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		if (!(request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample sample)) {
+			return;
+		}
+		request.removeAttribute(SAMPLE_ATTRIBUTE);
+		JdbcStatistics statistics = JdbcStatistics.current();
+		JdbcStatistics.stop();
+		String endpoint = endpoint((HandlerMethod) handler);
+		sample.stop(Timer.builder("petclinic.requests")
+			.description("Latency of Petclinic controller methods")
+			.tags(Tags.of("endpoint", endpoint, "status", String.valueOf(response.getStatus()), "exception",
+					(ex != null) ? ex.getClass().getSimpleName() : "none"))
+			.publishPercentileHistogram()
+			.register(this.registry));
+		if (statistics != null) {
+			record("petclinic.requests.jdbc.statements", "JDBC statements executed per request", null, endpoint,
+					statistics.getStatements());
+			record("petclinic.requests.jdbc.rows", "JDBC rows fetched per request", "rows", endpoint,
+					statistics.getRows());
+			record("petclinic.requests.jdbc.blob", "Blob bytes read per request", "bytes", endpoint,
+					statistics.getBlobBytes());
+		}
+	}
+
+	private void record(String name, String description, String baseUnit, String endpoint, long amount) {
+		DistributionSummary.builder(name)
+			.description(description)
+			.baseUnit(baseUnit)
+			.tag("endpoint", endpoint)
+			.publishPercentileHistogram()
+			.register(this.registry)
+			.record(amount);
+	}
+
+	static boolean isApplicationHandler(Object handler) {
+		return handler instanceof HandlerMethod handlerMethod
+				&& handlerMethod.getBeanType().getName().startsWith(APPLICATION_PACKAGE);
+	}
+
+	static String endpoint(HandlerMethod handlerMethod) {
+		return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+	}
+
+}
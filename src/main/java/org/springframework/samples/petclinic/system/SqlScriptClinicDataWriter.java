@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ClinicDataWriter} that writes a bulk-load SQL script with one multi-row
+ * {@code INSERT} per batch, to be run after the schema and sample data of the target
+ * database, e.g. with {@code psql -f} or {@code mysql < clinic.sql}. All tables use ids
+ * starting at the same configurable value, well clear of the sample data.
+ */
+public class SqlScriptClinicDataWriter implements ClinicDataWriter {
+
+	private final Writer out;
+
+	private final Dialect dialect;
+
+	private final int firstId;
+
+	/**
+	 * Create a writer for the given dialect. The writer is not closed.
+	 * @param out where to write the script
+	 * @param dialect the target database
+	 * @param firstId the first id to use in every table
+	 */
+	public SqlScriptClinicDataWriter(Writer out, Dialect dialect, int firstId) {
+		this.out = out;
+		this.dialect = dialect;
+		this.firstId = firstId;
+	}
+
+	@Override
+	public int firstId(Table table) {
+		return this.firstId;
+	}
+
+	@Override
+	public void write(Table table, List<Object[]> rows) {
+		StringBuilder sql = new StringBuilder(64 * rows.size());
+		sql.append("INSERT INTO ")
+			.append(table.getTableName())
+			.append(" (")
+			.append(String.join(", ", table.getColumns()))
+			.append(") VALUES\n");
+		for (int i = 0; i < rows.size(); i++) {
+			sql.append(i > 0 ? ",\n(" : "(");
+			Object[] row = rows.get(i);
+			for (int column = 0; column < row.length; column++) {
+				if (column > 0) {
+					sql.append(", ");
+				}
+				appendLiteral(sql, row[column]);
+			}
+			sql.append(')');
+		}
+		sql.append(";\n");
+		append(sql);
+	}
+
+	@Override
+	public void finish(Map<Table, Integer> nextIds) {
+		StringBuilder sql = new StringBuilder();
+		nextIds.forEach((table, nextId) -> sql.append(this.dialect.restartIdentity(table, nextId)).append(";\n"));
+		append(sql);
+		try {
+			this.out.flush();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private void appendLiteral(StringBuilder sql, Object value) {
+		if (value == null) {
+			sql.append("NULL");
+		}
+		else if (value instanceof Number) {
+			sql.append(value);
+		}
+		else if (value instanceof LocalDate) {
+			sql.append("DATE '").append(value).append('\'');
+		}
+		else {
+			String text = value.toString().replace("'", "''");
+			if (this.dialect == Dialect.MYSQL) {
+				text = text.replace("\\", "\\\\");
+			}
+			sql.append('\'').append(text).append('\'');
+		}
+	}
+
+	private void append(CharSequence sql) {
+		try {
+			this.out.append(sql);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+}
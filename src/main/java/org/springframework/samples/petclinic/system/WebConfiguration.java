@@ -2,13 +2,20 @@ package org.springframework.samples.petclinic.system;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
 import org.springframework.web.servlet.i18n.SessionLocaleResolver;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Locale;
+import java.util.stream.Stream;
 
 /**
  * Configures internationalization (i18n) support for the application.
@@ -17,6 +24,10 @@ import java.util.Locale;
  * Handles loading language-specific messages, tracking the user's language, and allowing
  * language changes via the URL parameter (e.g., <code>?lang=de</code>).
  * </p>
+ * <p>
+ * Also serves the static resources under versioned URLs, see
+ * {@link #addResourceHandlers(ResourceHandlerRegistry)}.
+ * </p>
  *
  * @author Anuj Ashok Potdar
  */
@@ -24,6 +35,26 @@ import java.util.Locale;
 @SuppressWarnings("unused")
 public class WebConfiguration implements WebMvcConfigurer {
 
+	/**
+	 * The locales there are messages for, the first one being the default.
+	 */
+	public static final List<Locale> SUPPORTED_LOCALES = Stream.of("en", "de", "es", "fa", "ko", "pt", "ru", "tr")
+		.map(Locale::forLanguageTag)
+		.toList();
+
+	/**
+	 * Return the supported locale whose messages are shown for the given locale: the one
+	 * of the same language, or the default.
+	 * @param locale the requested locale, e.g. from <code>?lang=</code>
+	 * @return one of {@link #SUPPORTED_LOCALES}
+	 */
+	public static Locale supportedLocale(Locale locale) {
+		return SUPPORTED_LOCALES.stream()
+			.filter((supported) -> supported.getLanguage().equals(locale.getLanguage()))
+			.findFirst()
+			.orElse(SUPPORTED_LOCALES.get(0));
+	}
+
 	/**
 	 * Uses session storage to remember the user’s language setting across requests.
 	 * Defaults to English if nothing is specified.
@@ -32,7 +63,7 @@ public class WebConfiguration implements WebMvcConfigurer {
 	@Bean
 	public LocaleResolver localeResolver() {
 		SessionLocaleResolver resolver = new SessionLocaleResolver();
-		resolver.setDefaultLocale(Locale.ENGLISH);
+		resolver.setDefaultLocale(SUPPORTED_LOCALES.get(0));
 		return resolver;
 	}
 
@@ -57,4 +88,29 @@ public class WebConfiguration implements WebMvcConfigurer {
 		registry.addInterceptor(localeChangeInterceptor());
 	}
 
+	/**
+	 * Serves the static resources under content-hashed URLs, e.g.
+	 * <code>/resources/css/petclinic-&lt;md5&gt;.css</code>, and the webjars under
+	 * versioned ones, so browsers can keep them for a year without revalidating. Links in
+	 * templates are rewritten to those URLs by Spring Boot's
+	 * {@code ResourceUrlEncodingFilter}, and links in CSS by the resource chain.
+	 * Pre-compressed <code>.br</code> and <code>.gz</code> variants written by the build
+	 * are served to clients that accept them.
+	 * @param registry where resource handlers are added
+	 */
+	@Override
+	public void addResourceHandlers(ResourceHandlerRegistry registry) {
+		CacheControl immutable = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+		registry.addResourceHandler("/resources/**")
+			.addResourceLocations("classpath:/static/resources/")
+			.setCacheControl(immutable)
+			.resourceChain(true)
+			.addResolver(new EncodedResourceResolver())
+			.addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+		registry.addResourceHandler("/webjars/**")
+			.addResourceLocations("classpath:/META-INF/resources/webjars/")
+			.setCacheControl(immutable)
+			.resourceChain(true);
+	}
+
 }
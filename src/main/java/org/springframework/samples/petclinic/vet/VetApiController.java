@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Version 1 of the API over vets, filtered by specialty and name from the
+ * {@link VetIndex}.
+ * <p>
+ * {@code specialty} may be given several times, and only vets with all of the given
+ * specialties are returned. {@code name} matches the start of the first or last name.
+ * Lists are paged by key like the owner API: a page holds the vets after the id given as
+ * {@code after}, and {@code next} is the value to pass for the following page, or
+ * {@code null} on the last one. The URL of the next page is also sent as a {@code Link}
+ * header.
+ * </p>
+ */
+@RestController
+@RequestMapping(path = "/api/v1/vets", produces = MediaType.APPLICATION_JSON_VALUE)
+class VetApiController {
+
+	static final int MAX_PAGE_SIZE = 100;
+
+	private final VetIndex vetIndex;
+
+	VetApiController(VetIndex vetIndex) {
+		this.vetIndex = vetIndex;
+	}
+
+	@GetMapping
+	public ResponseEntity<Page> listVets(@RequestParam(required = false) List<String> specialty,
+			@RequestParam(defaultValue = "") String name, @RequestParam(defaultValue = "0") int after,
+			@RequestParam(defaultValue = "20") int size) {
+		if (size < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be at least 1");
+		}
+		int limit = Math.min(size, MAX_PAGE_SIZE);
+		List<Vet> vets = this.vetIndex.findVetsAfter(specialty, name, after, limit + 1);
+		boolean hasNext = vets.size() > limit;
+		List<VetDto> items = vets.stream().limit(limit).map(VetDto::of).toList();
+		Integer next = hasNext ? items.get(items.size() - 1).id() : null;
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (next != null) {
+			String link = ServletUriComponentsBuilder.fromCurrentRequest()
+				.replaceQueryParam("after", next)
+				.toUriString();
+			response.header(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+		}
+		return response.body(new Page(items, next));
+	}
+
+	/**
+	 * A page of vets.
+	 *
+	 * @param items the vets on this page
+	 * @param next the {@code after} value of the next page, {@code null} on the last page
+	 */
+	record Page(List<VetDto> items, Integer next) {
+
+	}
+
+}
@@ -0,0 +1,420 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * The calendar of every {@link Vet}, split into slots of equal length between the
+ * clinic's opening and closing time.
+ * <p>
+ * The booked slots of a vet on a day are kept in memory as a bit set, loaded from the
+ * {@code visits} table the first time the day is used. Checking a slot or finding the
+ * next free one is then a few bit operations. Each day is guarded by one of a fixed
+ * number of striped locks, so bookings for different vets or days do not wait for each
+ * other, and two bookings of the same slot cannot both succeed. A slot that is reserved
+ * in a transaction is freed again if the transaction rolls back.
+ * </p>
+ * <p>
+ * The index only knows about bookings made by this instance. A unique index on
+ * {@code (vet_id, visit_date, start_time)} rejects a double booking made through another
+ * instance, after which the day can be {@linkplain #forget(int, LocalDate) forgotten} and
+ * loaded again.
+ * </p>
+ * <p>
+ * Only days from today up to {@code petclinic.schedule.horizon} days ahead can be booked,
+ * so the days in memory are bounded by the number of vets times the horizon. Past days
+ * are dropped every night. Today, the slots that have already started cannot be booked
+ * either.
+ * </p>
+ */
+@Component
+public class VetCalendar {
+
+	private static final String DAY_QUERY = """
+			SELECT start_time FROM visits
+			WHERE vet_id = ? AND visit_date = ? AND start_time IS NOT NULL""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final LocalTime opens;
+
+	private final Duration slotLength;
+
+	private final int slotCount;
+
+	private final int horizon;
+
+	private final Map<Day, BitSet> days = new ConcurrentHashMap<>();
+
+	private final Lock[] locks;
+
+	private Clock clock = Clock.systemDefaultZone();
+
+	public VetCalendar(JdbcTemplate jdbcTemplate, @Value("${petclinic.schedule.opens:09:00}") LocalTime opens,
+			@Value("${petclinic.schedule.closes:17:00}") LocalTime closes,
+			@Value("${petclinic.schedule.slot-length:30m}") Duration slotLength,
+			@Value("${petclinic.schedule.horizon:30}") int horizon,
+			@Value("${petclinic.schedule.lock-stripes:64}") int lockStripes) {
+		Assert.isTrue(opens.isBefore(closes), "The clinic must open before it closes");
+		Assert.isTrue(slotLength.toMinutes() > 0 && slotLength.toSeconds() % 60 == 0,
+				"The slot length must be a positive number of minutes");
+		this.jdbcTemplate = jdbcTemplate;
+		this.opens = opens;
+		this.slotLength = slotLength;
+		this.slotCount = (int) (Duration.between(opens, closes).toMinutes() / slotLength.toMinutes());
+		this.horizon = horizon;
+		this.locks = new Lock[lockStripes];
+		for (int i = 0; i < lockStripes; i++) {
+			this.locks[i] = new ReentrantLock();
+		}
+	}
+
+	/**
+	 * Set the clock that tells which days and slots have passed, for tests.
+	 */
+	void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * Return the start times of all slots of a day.
+	 */
+	public List<LocalTime> getSlots() {
+		List<LocalTime> slots = new ArrayList<>(this.slotCount);
+		for (int slot = 0; slot < this.slotCount; slot++) {
+			slots.add(startOf(slot));
+		}
+		return slots;
+	}
+
+	/**
+	 * Return whether the given time is the start of a slot.
+	 * @param start the time to check
+	 */
+	public boolean isSlot(LocalTime start) {
+		return slotOf(start) >= 0;
+	}
+
+	/**
+	 * Return the number of days ahead of today that can be booked.
+	 */
+	public int getHorizon() {
+		return this.horizon;
+	}
+
+	/**
+	 * Return whether the given day can be booked: it is neither in the past nor further
+	 * ahead than the horizon.
+	 * @param date the day to check
+	 */
+	public boolean isBookable(LocalDate date) {
+		LocalDate today = LocalDate.now(this.clock);
+		return !date.isBefore(today) && !date.isAfter(today.plusDays(this.horizon));
+	}
+
+	/**
+	 * Return whether the slot starting at the given time can be booked: its day can be
+	 * {@linkplain #isBookable(LocalDate) booked} and, today, the slot has not started
+	 * yet.
+	 * @param date the day
+	 * @param start the start of the slot
+	 */
+	public boolean isBookable(LocalDate date, LocalTime start) {
+		return isBookable(date) && slotOf(start) >= firstBookableSlot(date);
+	}
+
+	/**
+	 * Return the start times of the free slots of a vet on a day that have not started
+	 * yet.
+	 * @param vetId the id of the vet
+	 * @param date the day
+	 * @throws IllegalArgumentException if the day cannot be {@linkplain #isBookable
+	 * booked}
+	 */
+	public List<LocalTime> getFreeSlots(int vetId, LocalDate date) {
+		assertBookable(date);
+		Day day = new Day(vetId, date);
+		List<LocalTime> free = new ArrayList<>();
+		Lock lock = lockFor(day);
+		lock.lock();
+		try {
+			BitSet booked = booked(day);
+			for (int slot = booked.nextClearBit(firstBookableSlot(date)); slot < this.slotCount; slot = booked
+				.nextClearBit(slot + 1)) {
+				free.add(startOf(slot));
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+		return free;
+	}
+
+	/**
+	 * Find the first free slot of a vet that starts at or after the given time, and has
+	 * not started yet, looking ahead up to the last day of the horizon.
+	 * @param vetId the id of the vet
+	 * @param from the earliest start
+	 * @return the start of the slot, or empty if the vet is fully booked
+	 */
+	public Optional<LocalDateTime> findNextFreeSlot(int vetId, LocalDateTime from) {
+		LocalDate today = LocalDate.now(this.clock);
+		LocalDate last = today.plusDays(this.horizon);
+		int first = firstSlotAtOrAfter(from.toLocalTime());
+		for (LocalDate date = from.toLocalDate(); !date.isAfter(last); date = date.plusDays(1)) {
+			if (date.isBefore(today)) {
+				continue;
+			}
+			Day day = new Day(vetId, date);
+			Lock lock = lockFor(day);
+			lock.lock();
+			try {
+				int slot = booked(day)
+					.nextClearBit(Math.max(date.equals(from.toLocalDate()) ? first : 0, firstBookableSlot(date)));
+				if (slot < this.slotCount) {
+					return Optional.of(date.atTime(startOf(slot)));
+				}
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Reserve a slot of a vet.
+	 * @param vetId the id of the vet
+	 * @param date the day
+	 * @param start the start of the slot
+	 * @return {@code false} if the slot is already booked
+	 * @throws IllegalArgumentException if the time is not the start of a slot, or the
+	 * slot cannot be {@linkplain #isBookable(LocalDate, LocalTime) booked}
+	 */
+	public boolean reserve(int vetId, LocalDate date, LocalTime start) {
+		int slot = slotOf(start);
+		Assert.isTrue(slot >= 0, () -> start + " is not the start of a slot");
+		assertBookable(date);
+		Assert.isTrue(slot >= firstBookableSlot(date), () -> "The slot at " + start + " has already started");
+		Day day = new Day(vetId, date);
+		Lock lock = lockFor(day);
+		lock.lock();
+		try {
+			BitSet booked = booked(day);
+			if (booked.get(slot)) {
+				return false;
+			}
+			booked.set(slot);
+		}
+		finally {
+			lock.unlock();
+		}
+		releaseOnRollback(day, slot);
+		return true;
+	}
+
+	/**
+	 * Reserve the first free slot of a vet on a day that has not started yet.
+	 * @param vetId the id of the vet
+	 * @param date the day
+	 * @return the start of the reserved slot, or empty if the day is fully booked
+	 * @throws IllegalArgumentException if the day cannot be {@linkplain #isBookable
+	 * booked}
+	 */
+	public Optional<LocalTime> reserveFirstFree(int vetId, LocalDate date) {
+		assertBookable(date);
+		Day day = new Day(vetId, date);
+		int slot;
+		Lock lock = lockFor(day);
+		lock.lock();
+		try {
+			BitSet booked = booked(day);
+			slot = booked.nextClearBit(firstBookableSlot(date));
+			if (slot >= this.slotCount) {
+				return Optional.empty();
+			}
+			booked.set(slot);
+		}
+		finally {
+			lock.unlock();
+		}
+		releaseOnRollback(day, slot);
+		return Optional.of(startOf(slot));
+	}
+
+	/**
+	 * Free a reserved slot of a vet.
+	 * @param vetId the id of the vet
+	 * @param date the day
+	 * @param start the start of the slot
+	 */
+	public void release(int vetId, LocalDate date, LocalTime start) {
+		int slot = slotOf(start);
+		if (slot >= 0) {
+			release(new Day(vetId, date), slot);
+		}
+	}
+
+	/**
+	 * Drop a day of a vet from memory, so that it is loaded again when it is next used,
+	 * e.g. after a slot of it was booked through another instance.
+	 * @param vetId the id of the vet
+	 * @param date the day
+	 */
+	public void forget(int vetId, LocalDate date) {
+		Day day = new Day(vetId, date);
+		Lock lock = lockFor(day);
+		lock.lock();
+		try {
+			this.days.remove(day);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Drop the days before today from memory. They are loaded again if they are used.
+	 */
+	@Scheduled(cron = "${petclinic.schedule.evict-cron:0 0 0 * * *}")
+	public void evictPastDays() {
+		LocalDate today = LocalDate.now(this.clock);
+		for (Day day : this.days.keySet()) {
+			if (day.date().isBefore(today)) {
+				forget(day.vetId(), day.date());
+			}
+		}
+	}
+
+	private void assertBookable(LocalDate date) {
+		Assert.isTrue(isBookable(date),
+				() -> date + " is not between today and " + this.horizon + " days ahead, so it cannot be booked");
+	}
+
+	/**
+	 * Return the first slot of the day that has not started yet, which is the first slot
+	 * of any day but today.
+	 */
+	private int firstBookableSlot(LocalDate date) {
+		LocalDateTime now = LocalDateTime.now(this.clock);
+		return date.equals(now.toLocalDate()) ? firstSlotAtOrAfter(now.toLocalTime()) : 0;
+	}
+
+	private void release(Day day, int slot) {
+		Lock lock = lockFor(day);
+		lock.lock();
+		try {
+			BitSet booked = this.days.get(day);
+			if (booked != null) {
+				booked.clear(slot);
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void releaseOnRollback(Day day, int slot) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCompletion(int status) {
+					if (status != STATUS_COMMITTED) {
+						release(day, slot);
+					}
+				}
+
+			});
+		}
+	}
+
+	/**
+	 * Return the booked slots of the day, loading them if needed. Must be called with the
+	 * lock of the day held.
+	 */
+	private BitSet booked(Day day) {
+		BitSet booked = this.days.get(day);
+		if (booked == null) {
+			BitSet loaded = new BitSet(this.slotCount);
+			this.jdbcTemplate.query(DAY_QUERY, (rs) -> {
+				int slot = slotOf(rs.getObject(1, LocalTime.class));
+				if (slot >= 0) {
+					loaded.set(slot);
+				}
+			}, day.vetId(), day.date());
+			this.days.put(day, loaded);
+			booked = loaded;
+		}
+		return booked;
+	}
+
+	private Lock lockFor(Day day) {
+		return this.locks[Math.floorMod(day.hashCode(), this.locks.length)];
+	}
+
+	private LocalTime startOf(int slot) {
+		return this.opens.plus(this.slotLength.multipliedBy(slot));
+	}
+
+	/**
+	 * Return the slot that starts at the given time, or -1 if there is none.
+	 */
+	private int slotOf(LocalTime start) {
+		long minutes = Duration.between(this.opens, start).toMinutes();
+		long length = this.slotLength.toMinutes();
+		if (minutes < 0 || minutes % length != 0 || start.getSecond() != 0 || start.getNano() != 0) {
+			return -1;
+		}
+		long slot = minutes / length;
+		return (slot < this.slotCount) ? (int) slot : -1;
+	}
+
+	private int firstSlotAtOrAfter(LocalTime time) {
+		long seconds = Duration.between(this.opens, time).toSeconds();
+		if (seconds <= 0) {
+			return 0;
+		}
+		long length = this.slotLength.toSeconds();
+		return (int) Math.min((seconds + length - 1) / length, this.slotCount);
+	}
+
+	private record Day(int vetId, LocalDate date) {
+
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Answers which slots of a vet are free, as JSON. The visit form uses it to suggest
+ * times.
+ *
+ * @see VetCalendar
+ */
+@RestController
+class VetCalendarController {
+
+	private final VetRepository vetRepository;
+
+	private final VetCalendar calendar;
+
+	VetCalendarController(VetRepository vetRepository, VetCalendar calendar) {
+		this.vetRepository = vetRepository;
+		this.calendar = calendar;
+	}
+
+	/**
+	 * Return the free slots of a vet on a day, today by default, and the next free slot
+	 * from that day on. Days that cannot be booked are answered with a 400.
+	 */
+	@GetMapping("/vets/{vetId}/slots")
+	public VetSlots showSlots(@PathVariable int vetId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+		if (this.vetRepository.findAll().stream().noneMatch((vet) -> Integer.valueOf(vetId).equals(vet.getId()))) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Vet not found: " + vetId);
+		}
+		LocalDateTime now = LocalDateTime.now();
+		LocalDate day = (date != null) ? date : now.toLocalDate();
+		if (!this.calendar.isBookable(day)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Only the next " + this.calendar.getHorizon() + " days can be booked");
+		}
+		LocalDateTime from = day.atStartOfDay().isAfter(now) ? day.atStartOfDay() : now;
+		return new VetSlots(vetId, day, this.calendar.getFreeSlots(vetId, day),
+				this.calendar.findNextFreeSlot(vetId, from).orElse(null));
+	}
+
+	/**
+	 * The free slots of a vet on a day.
+	 *
+	 * @param next the first free slot from the day on, or {@code null} if there is none
+	 * within the horizon
+	 */
+	record VetSlots(int vetId, LocalDate date, List<LocalTime> free, LocalDateTime next) {
+
+	}
+
+}
@@ -15,16 +15,29 @@
  */
 package org.springframework.samples.petclinic.vet;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * @author Juergen Hoeller
@@ -35,19 +48,37 @@ import org.springframework.web.bind.annotation.ResponseBody;
 @Controller
 class VetController {
 
-	private final VetRepository vetRepository;
+	private final VetRepresentations representations;
 
-	public VetController(VetRepository vetRepository) {
-		this.vetRepository = vetRepository;
+	private final VetIndex vetIndex;
+
+	private final ContentNegotiationManager contentNegotiationManager;
+
+	public VetController(VetRepresentations representations, VetIndex vetIndex,
+			ObjectProvider<ContentNegotiationManager> contentNegotiationManager) {
+		this.representations = representations;
+		this.vetIndex = vetIndex;
+		// there is no MVC one when the application runs without a web server, e.g. to
+		// generate data
+		this.contentNegotiationManager = contentNegotiationManager.getIfAvailable(ContentNegotiationManager::new);
 	}
 
 	@GetMapping("/vets.html")
-	public String showVetList(@RequestParam(defaultValue = "1") int page, Model model) {
-		// Here we are returning an object of type 'Vets' rather than a collection of Vet
-		// objects so it is simpler for Object-Xml mapping
-		Vets vets = new Vets();
-		Page<Vet> paginated = findPaginated(page);
-		vets.getVetList().addAll(paginated.toList());
+	public String showVetList(@RequestParam(defaultValue = "1") int page,
+			@RequestParam(defaultValue = "") String specialty, @RequestParam(defaultValue = "") String name,
+			Model model) {
+		Page<Vet> paginated = findPaginated(page, specialty, name);
+		model.addAttribute("specialty", specialty);
+		model.addAttribute("name", name);
+		model.addAttribute("specialties", this.vetIndex.getSpecialtyNames());
+		// the filter query parameters, for the pagination links
+		String filter = UriComponentsBuilder.newInstance()
+			.queryParamIfPresent("specialty", Optional.of(specialty).filter(StringUtils::hasText))
+			.queryParamIfPresent("name", Optional.of(name).filter(StringUtils::hasText))
+			.encode()
+			.build()
+			.getQuery();
+		model.addAttribute("filter", (filter != null) ? "&" + filter : "");
 		return addPaginationModel(page, paginated, model);
 	}
 
@@ -57,22 +88,57 @@ class VetController {
 		model.addAttribute("totalPages", paginated.getTotalPages());
 		model.addAttribute("totalItems", paginated.getTotalElements());
 		model.addAttribute("listVets", listVets);
+		model.addAttribute("vetsVersion", version(listVets));
 		return "vets/vetList";
 	}
 
-	private Page<Vet> findPaginated(int page) {
+	/**
+	 * Return the data version of the rendered vet table: an MD5 digest of everything it
+	 * shows, so that the cached HTML is not reused once a vet or a specialty changes.
+	 */
+	static String version(List<Vet> vets) {
+		String shown = vets.stream()
+			.map((vet) -> vet.getId() + "|" + vet.getFirstName() + "|" + vet.getLastName() + "|"
+					+ vet.getSpecialties().stream().map(Specialty::getName).collect(Collectors.joining(",")))
+			.collect(Collectors.joining(";"));
+		return DigestUtils.md5DigestAsHex(shown.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private Page<Vet> findPaginated(int page, String specialty, String name) {
 		int pageSize = 5;
 		Pageable pageable = PageRequest.of(page - 1, pageSize);
-		return vetRepository.findAll(pageable);
+		return this.vetIndex.findVets(List.of(specialty), name, pageable);
+	}
+
+	/**
+	 * Serve the vets as JSON, XML, CBOR, Smile or CSV from their cached representation. A
+	 * request whose {@code If-None-Match} matches the ETag of the current vets is
+	 * answered with a 304.
+	 */
+	@GetMapping(value = "/vets",
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE,
+					MediaType.APPLICATION_CBOR_VALUE, VetRepresentations.APPLICATION_SMILE_VALUE,
+					VetRepresentations.TEXT_CSV_VALUE })
+	public ResponseEntity<byte[]> showResourcesVetList(NativeWebRequest request)
+			throws HttpMediaTypeNotAcceptableException {
+		VetRepresentations.Representation representation = this.representations.render(negotiate(request));
+		return ResponseEntity.ok()
+			.contentType(representation.contentType())
+			.eTag(representation.etag())
+			.cacheControl(CacheControl.noCache())
+			.varyBy(HttpHeaders.ACCEPT)
+			.body(representation.body());
 	}
 
-	@GetMapping({ "/vets" })
-	public @ResponseBody Vets showResourcesVetList() {
-		// Here we are returning an object of type 'Vets' rather than a collection of Vet
-		// objects so it is simpler for JSon/Object mapping
-		Vets vets = new Vets();
-		vets.getVetList().addAll(this.vetRepository.findAll());
-		return vets;
+	private MediaType negotiate(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+		for (MediaType accepted : this.contentNegotiationManager.resolveMediaTypes(request)) {
+			for (MediaType mediaType : VetRepresentations.MEDIA_TYPES) {
+				if (accepted.isCompatibleWith(mediaType)) {
+					return mediaType;
+				}
+			}
+		}
+		return MediaType.APPLICATION_JSON;
 	}
 
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.util.List;
+
+/**
+ * Flat, read-only view of a {@link Vet} as returned by the REST API.
+ *
+ * @param id the vet id
+ * @param firstName the first name
+ * @param lastName the last name
+ * @param specialties the names of the vet's specialties, in alphabetical order
+ * @see VetApiController
+ */
+public record VetDto(Integer id, String firstName, String lastName, List<String> specialties) {
+
+	static VetDto of(Vet vet) {
+		return new VetDto(vet.getId(), vet.getFirstName(), vet.getLastName(),
+				vet.getSpecialties().stream().map(Specialty::getName).toList());
+	}
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.samples.petclinic.clinic.ClinicContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * In-memory index of the {@link Vet vets} by {@link Specialty specialty} and name, for
+ * filtered and paginated vet queries that do not go to the database.
+ * <p>
+ * The vets are held in the order of their ids, and every specialty maps to the ascending
+ * positions of the vets that have it. A query for several specialties intersects their
+ * position lists, starting from the shortest, and the name is only compared for the vets
+ * that are left. A vet matches a name if its first or last name starts with it, ignoring
+ * case.
+ * </p>
+ * <p>
+ * The index is built from the vets in the {@code vets} cache and is rebuilt whenever that
+ * cache holds a different collection, so it changes together with everything else that is
+ * served from the cache. Every clinic has a snapshot of its own, built from its own vets.
+ * </p>
+ */
+@Component
+public class VetIndex {
+
+	private static final int[] NONE = new int[0];
+
+	private final VetRepository vetRepository;
+
+	private final Map<Integer, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+	public VetIndex(VetRepository vetRepository) {
+		this.vetRepository = vetRepository;
+	}
+
+	/**
+	 * Return the names of all specialties, in alphabetical order.
+	 */
+	public Collection<String> getSpecialtyNames() {
+		return current().specialtyNames();
+	}
+
+	/**
+	 * Find a page of the vets that have all the given specialties and a name that starts
+	 * with the given prefix.
+	 * @param specialties the names of the specialties, ignoring case, or none for any
+	 * @param name the start of the first or last name, or empty for any
+	 * @param pageable the page to return
+	 * @return the page of vets, in the order of their ids
+	 */
+	public Page<Vet> findVets(Collection<String> specialties, String name, Pageable pageable) {
+		Snapshot snapshot = current();
+		int[] matches = snapshot.match(specialties, name);
+		int from = (int) Math.min(pageable.getOffset(), matches.length);
+		int to = Math.min(from + pageable.getPageSize(), matches.length);
+		return new PageImpl<>(snapshot.vets(matches, from, to), pageable, matches.length);
+	}
+
+	/**
+	 * Find the vets after the given id that have all the given specialties and a name
+	 * that starts with the given prefix.
+	 * @param specialties the names of the specialties, ignoring case, or none for any
+	 * @param name the start of the first or last name, or empty for any
+	 * @param after the id to start after
+	 * @param limit the maximum number of vets to return
+	 * @return the vets, in the order of their ids
+	 */
+	public List<Vet> findVetsAfter(Collection<String> specialties, String name, int after, int limit) {
+		Snapshot snapshot = current();
+		int[] matches = snapshot.match(specialties, name);
+		int from = 0;
+		int to = matches.length;
+		while (from < to) {
+			int middle = (from + to) >>> 1;
+			if (snapshot.vets()[matches[middle]].getId() <= after) {
+				from = middle + 1;
+			}
+			else {
+				to = middle;
+			}
+		}
+		return snapshot.vets(matches, from, Math.min(from + limit, matches.length));
+	}
+
+	private Snapshot current() {
+		Collection<Vet> vets = this.vetRepository.findAll();
+		return this.snapshots.compute(ClinicContextHolder.getClinicId(),
+				(clinicId, snapshot) -> (snapshot != null && snapshot.source() == vets) ? snapshot : Snapshot.of(vets));
+	}
+
+	private static String normalize(String value) {
+		return (value != null) ? value.trim().toLowerCase(Locale.ROOT) : "";
+	}
+
+	/**
+	 * An immutable index over one collection of vets.
+	 *
+	 * @param source the collection the index was built from
+	 * @param vets the vets in the order of their ids
+	 * @param firstNames the normalized first names, by position
+	 * @param lastNames the normalized last names, by position
+	 * @param bySpecialty the ascending positions of the vets with each normalized
+	 * specialty name
+	 * @param specialtyNames the specialty names in alphabetical order
+	 */
+	private record Snapshot(Collection<Vet> source, Vet[] vets, String[] firstNames, String[] lastNames,
+			Map<String, int[]> bySpecialty, Collection<String> specialtyNames) {
+
+		static Snapshot of(Collection<Vet> source) {
+			Vet[] vets = source.toArray(Vet[]::new);
+			Arrays.sort(vets, Comparator.comparing(Vet::getId));
+			String[] firstNames = new String[vets.length];
+			String[] lastNames = new String[vets.length];
+			Map<String, List<Integer>> positions = new HashMap<>();
+			Set<String> specialtyNames = new TreeSet<>();
+			for (int i = 0; i < vets.length; i++) {
+				firstNames[i] = normalize(vets[i].getFirstName());
+				lastNames[i] = normalize(vets[i].getLastName());
+				for (Specialty specialty : vets[i].getSpecialties()) {
+					positions.computeIfAbsent(normalize(specialty.getName()), (key) -> new ArrayList<>()).add(i);
+					specialtyNames.add(specialty.getName());
+				}
+			}
+			Map<String, int[]> bySpecialty = new HashMap<>();
+			positions.forEach((specialty, list) -> bySpecialty.put(specialty,
+					list.stream().mapToInt(Integer::intValue).toArray()));
+			return new Snapshot(source, vets, firstNames, lastNames, bySpecialty, List.copyOf(specialtyNames));
+		}
+
+		/**
+		 * Return the ascending positions of the matching vets.
+		 */
+		int[] match(Collection<String> specialties, String name) {
+			int[] candidates = null;
+			if (specialties != null) {
+				List<int[]> lists = new ArrayList<>();
+				for (String specialty : specialties) {
+					if (StringUtils.hasText(specialty)) {
+						lists.add(this.bySpecialty.getOrDefault(normalize(specialty), NONE));
+					}
+				}
+				lists.sort(Comparator.comparingInt((list) -> list.length));
+				for (int[] list : lists) {
+					candidates = (candidates != null) ? intersect(candidates, list) : list;
+				}
+			}
+			String prefix = normalize(name);
+			if (prefix.isEmpty()) {
+				return (candidates != null) ? candidates : all();
+			}
+			int[] matches = new int[(candidates != null) ? candidates.length : this.vets.length];
+			int count = 0;
+			for (int i = 0; i < matches.length; i++) {
+				int position = (candidates != null) ? candidates[i] : i;
+				if (this.firstNames[position].startsWith(prefix) || this.lastNames[position].startsWith(prefix)) {
+					matches[count++] = position;
+				}
+			}
+			return Arrays.copyOf(matches, count);
+		}
+
+		List<Vet> vets(int[] positions, int from, int to) {
+			List<Vet> vets = new ArrayList<>(to - from);
+			for (int i = from; i < to; i++) {
+				vets.add(this.vets[positions[i]]);
+			}
+			return vets;
+		}
+
+		private int[] all() {
+			int[] all = new int[this.vets.length];
+			Arrays.setAll(all, (i) -> i);
+			return all;
+		}
+
+		private static int[] intersect(int[] left, int[] right) {
+			int[] result = new int[Math.min(left.length, right.length)];
+			int count = 0;
+			for (int i = 0, j = 0; i < left.length && j < right.length;) {
+				if (left[i] < right[j]) {
+					i++;
+				}
+				else if (left[i] > right[j]) {
+					j++;
+				}
+				else {
+					result[count++] = left[i];
+					i++;
+					j++;
+				}
+			}
+			return Arrays.copyOf(result, count);
+		}
+
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.csv.CsvMapper;
+import tools.jackson.dataformat.csv.CsvSchema;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Serialized representations of the {@link Vets} resource, rendered once per media type
+ * and cached in the {@code vets} cache next to the vets they were rendered from, under a
+ * key of the current clinic like those.
+ * <p>
+ * Besides JSON and XML, the vets are available in the binary CBOR and Smile encodings of
+ * the JSON document, and as CSV with one row per vet and the names of its specialties
+ * separated by spaces.
+ * </p>
+ * <p>
+ * Each representation carries an ETag derived from the {@link VetController#version data
+ * version} of the vets, so it only changes when a vet or a specialty does, and is the
+ * same on every instance.
+ * </p>
+ */
+@Component
+@CacheConfig(keyGenerator = "keyGenerator")
+class VetRepresentations {
+
+	static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+	static final String TEXT_CSV_VALUE = "text/csv";
+
+	static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+	static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+	static final List<MediaType> MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_CBOR, APPLICATION_SMILE, TEXT_CSV);
+
+	private final VetRepository vetRepository;
+
+	private final JsonMapper jsonMapper;
+
+	private final CBORMapper cborMapper = CBORMapper.builder().build();
+
+	private final SmileMapper smileMapper = SmileMapper.builder().build();
+
+	private final CsvMapper csvMapper = CsvMapper.builder().build();
+
+	private final CsvSchema csvSchema = this.csvMapper.schemaFor(CsvRow.class).withHeader();
+
+	private volatile JAXBContext jaxbContext;
+
+	VetRepresentations(VetRepository vetRepository, JsonMapper jsonMapper) {
+		this.vetRepository = vetRepository;
+		this.jsonMapper = jsonMapper;
+	}
+
+	/**
+	 * Render all vets in the given media type.
+	 * @param mediaType one of {@link #MEDIA_TYPES}
+	 * @return the serialized vets
+	 */
+	@Cacheable("vets")
+	public Representation render(MediaType mediaType) {
+		// Here we are returning an object of type 'Vets' rather than a collection of Vet
+		// objects so it is simpler for JSon/Object mapping
+		Vets vets = new Vets();
+		vets.getVetList().addAll(this.vetRepository.findAll());
+		String version = VetController.version(vets.getVetList());
+		MediaType contentType = TEXT_CSV.equals(mediaType) ? new MediaType(TEXT_CSV, StandardCharsets.UTF_8)
+				: mediaType;
+		return new Representation(contentType, serialize(vets, mediaType), version + "-" + mediaType.getSubtype());
+	}
+
+	byte[] serialize(Vets vets, MediaType mediaType) {
+		if (MediaType.APPLICATION_XML.equals(mediaType)) {
+			return toXml(vets);
+		}
+		if (TEXT_CSV.equals(mediaType)) {
+			return toCsv(vets);
+		}
+		ObjectMapper mapper = MediaType.APPLICATION_CBOR.equals(mediaType) ? this.cborMapper
+				: APPLICATION_SMILE.equals(mediaType) ? this.smileMapper : this.jsonMapper;
+		return mapper.writeValueAsBytes(vets);
+	}
+
+	private byte[] toCsv(Vets vets) {
+		List<CsvRow> rows = vets.getVetList()
+			.stream()
+			.map((vet) -> new CsvRow(vet.getId(), vet.getFirstName(), vet.getLastName(),
+					vet.getSpecialties().stream().map(Specialty::getName).collect(Collectors.joining(" "))))
+			.toList();
+		return this.csvMapper.writer(this.csvSchema).writeValueAsBytes(rows);
+	}
+
+	private byte[] toXml(Vets vets) {
+		try {
+			JAXBContext context = this.jaxbContext;
+			if (context == null) {
+				context = JAXBContext.newInstance(Vets.class);
+				this.jaxbContext = context;
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			context.createMarshaller().marshal(vets, out);
+			return out.toByteArray();
+		}
+		catch (JAXBException ex) {
+			throw new IllegalStateException("Could not render vets as XML", ex);
+		}
+	}
+
+	/**
+	 * A serialized vets resource.
+	 *
+	 * @param contentType the media type of the body
+	 * @param body the serialized vets
+	 * @param etag the entity tag of the body
+	 */
+	record Representation(MediaType contentType, byte[] body, String etag) {
+
+	}
+
+	/**
+	 * A vet as a CSV row.
+	 */
+	private record CsvRow(Integer id, String firstName, String lastName, String specialties) {
+
+	}
+
+}
@@ -2,17 +2,29 @@ DROP TABLE vet_specialties IF EXISTS;
 DROP TABLE vets IF EXISTS;
 DROP TABLE specialties IF EXISTS;
 DROP TABLE visits IF EXISTS;
+DROP TABLE visits_archive IF EXISTS;
 DROP TABLE pets IF EXISTS;
 DROP TABLE types IF EXISTS;
 DROP TABLE owners IF EXISTS;
+DROP TABLE outbox IF EXISTS;
+DROP TABLE clinics IF EXISTS;
 
 
+CREATE TABLE clinics (
+  id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  name VARCHAR(80),
+  host VARCHAR(255)
+);
+CREATE UNIQUE INDEX clinics_host ON clinics (host);
+
 CREATE TABLE vets (
   id         INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   first_name VARCHAR(30),
-  last_name  VARCHAR(30)
+  last_name  VARCHAR(30),
+  clinic_id  INTEGER DEFAULT 1 NOT NULL
 );
-CREATE INDEX vets_last_name ON vets (last_name);
+ALTER TABLE vets ADD CONSTRAINT fk_vets_clinics FOREIGN KEY (clinic_id) REFERENCES clinics (id);
+CREATE INDEX vets_clinic_id_last_name ON vets (clinic_id, last_name);
 
 CREATE TABLE specialties (
   id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -39,9 +51,12 @@ CREATE TABLE owners (
   last_name  VARCHAR_IGNORECASE(30),
   address    VARCHAR(255),
   city       VARCHAR(80),
-  telephone  VARCHAR(20)
+  telephone  VARCHAR(20),
+  version    INTEGER DEFAULT 0 NOT NULL,
+  clinic_id  INTEGER DEFAULT 1 NOT NULL
 );
-CREATE INDEX owners_last_name ON owners (last_name);
+ALTER TABLE owners ADD CONSTRAINT fk_owners_clinics FOREIGN KEY (clinic_id) REFERENCES clinics (id);
+CREATE INDEX owners_clinic_id_last_name ON owners (clinic_id, last_name);
 
 CREATE TABLE pets (
   id         INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -49,7 +64,8 @@ CREATE TABLE pets (
   birth_date DATE,
   type_id    INTEGER NOT NULL,
   owner_id   INTEGER,
-  image      BLOB
+  image      BLOB,
+  version    INTEGER DEFAULT 0 NOT NULL
 );
 ALTER TABLE pets ADD CONSTRAINT fk_pets_owners FOREIGN KEY (owner_id) REFERENCES owners (id);
 ALTER TABLE pets ADD CONSTRAINT fk_pets_types FOREIGN KEY (type_id) REFERENCES types (id);
@@ -59,7 +75,34 @@ CREATE TABLE visits (
   id          INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   pet_id      INTEGER,
   visit_date  DATE,
-  description VARCHAR(255)
+  description VARCHAR(255),
+  version     INTEGER DEFAULT 0 NOT NULL,
+  vet_id      INTEGER,
+  start_time  TIME,
+  clinic_id   INTEGER DEFAULT 1 NOT NULL
 );
 ALTER TABLE visits ADD CONSTRAINT fk_visits_pets FOREIGN KEY (pet_id) REFERENCES pets (id);
-CREATE INDEX visits_pet_id ON visits (pet_id);
+ALTER TABLE visits ADD CONSTRAINT fk_visits_clinics FOREIGN KEY (clinic_id) REFERENCES clinics (id);
+ALTER TABLE visits ADD CONSTRAINT fk_visits_vets FOREIGN KEY (vet_id) REFERENCES vets (id);
+CREATE INDEX visits_pet_id_visit_date ON visits (pet_id, visit_date);
+CREATE UNIQUE INDEX visits_vet_id_slot ON visits (vet_id, visit_date, start_time);
+
+CREATE TABLE visits_archive (
+  id          INTEGER PRIMARY KEY,
+  pet_id      INTEGER,
+  visit_date  DATE,
+  description VARCHAR(255),
+  vet_id      INTEGER,
+  start_time  TIME,
+  clinic_id   INTEGER NOT NULL
+);
+ALTER TABLE visits_archive ADD CONSTRAINT fk_visits_archive_pets FOREIGN KEY (pet_id) REFERENCES pets (id);
+CREATE INDEX visits_archive_pet_id_visit_date ON visits_archive (pet_id, visit_date);
+
+CREATE TABLE outbox (
+  id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  event_type VARCHAR(20) NOT NULL,
+  owner_id   INTEGER,
+  pet_id     INTEGER,
+  clinic_id  INTEGER DEFAULT 1 NOT NULL
+);
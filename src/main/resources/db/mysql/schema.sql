@@ -1,9 +1,27 @@
+-- Safe to run on every start. Each table is created as it is now; a table created by an
+-- earlier version gets the columns and indexes added since from the statements after it.
+CREATE TABLE IF NOT EXISTS clinics (
+  id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  name VARCHAR(80),
+  host VARCHAR(255),
+  UNIQUE INDEX(host)
+) engine=InnoDB;
+INSERT IGNORE INTO clinics VALUES (1, 'Main clinic', NULL);
+
 CREATE TABLE IF NOT EXISTS vets (
   id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
   first_name VARCHAR(30),
   last_name VARCHAR(30),
-  INDEX(last_name)
+  clinic_id INT(4) UNSIGNED NOT NULL DEFAULT 1,
+  INDEX vets_clinic_id_last_name (clinic_id, last_name),
+  FOREIGN KEY (clinic_id) REFERENCES clinics(id)
 ) engine=InnoDB;
+SET @ddl = IF(EXISTS (SELECT * FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'vets' AND column_name = 'clinic_id'),
+  'DO 0', 'ALTER TABLE vets ADD COLUMN clinic_id INT(4) UNSIGNED NOT NULL DEFAULT 1,
+  ADD INDEX vets_clinic_id_last_name (clinic_id, last_name), ADD FOREIGN KEY (clinic_id) REFERENCES clinics(id)');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
 
 CREATE TABLE IF NOT EXISTS specialties (
   id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
@@ -32,8 +50,22 @@ CREATE TABLE IF NOT EXISTS owners (
   address VARCHAR(255),
   city VARCHAR(80),
   telephone VARCHAR(20),
-  INDEX(last_name)
+  version INT NOT NULL DEFAULT 0,
+  clinic_id INT(4) UNSIGNED NOT NULL DEFAULT 1,
+  INDEX owners_clinic_id_last_name (clinic_id, last_name),
+  FOREIGN KEY (clinic_id) REFERENCES clinics(id)
 ) engine=InnoDB;
+SET @ddl = IF(EXISTS (SELECT * FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'owners' AND column_name = 'version'),
+  'DO 0', 'ALTER TABLE owners ADD COLUMN version INT NOT NULL DEFAULT 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+SET @ddl = IF(EXISTS (SELECT * FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'owners' AND column_name = 'clinic_id'),
+  'DO 0', 'ALTER TABLE owners ADD COLUMN clinic_id INT(4) UNSIGNED NOT NULL DEFAULT 1,
+  ADD INDEX owners_clinic_id_last_name (clinic_id, last_name), ADD FOREIGN KEY (clinic_id) REFERENCES clinics(id)');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
 
 CREATE TABLE IF NOT EXISTS pets (
   id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
@@ -41,16 +73,72 @@ CREATE TABLE IF NOT EXISTS pets (
   birth_date DATE,
   type_id INT(4) UNSIGNED NOT NULL,
   owner_id INT(4) UNSIGNED,
+  version INT NOT NULL DEFAULT 0,
   INDEX(name),
   FOREIGN KEY (owner_id) REFERENCES owners(id),
   FOREIGN KEY (type_id) REFERENCES types(id),
   image LONGBLOB
 ) engine=InnoDB;
+SET @ddl = IF(EXISTS (SELECT * FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'pets' AND column_name = 'version'),
+  'DO 0', 'ALTER TABLE pets ADD COLUMN version INT NOT NULL DEFAULT 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
 
 CREATE TABLE IF NOT EXISTS visits (
   id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
   pet_id INT(4) UNSIGNED,
   visit_date DATE,
   description VARCHAR(255),
+  version INT NOT NULL DEFAULT 0,
+  vet_id INT(4) UNSIGNED,
+  start_time TIME,
+  clinic_id INT(4) UNSIGNED NOT NULL DEFAULT 1,
+  INDEX visits_pet_id_visit_date (pet_id, visit_date),
+  UNIQUE INDEX visits_vet_id_slot (vet_id, visit_date, start_time),
+  FOREIGN KEY (pet_id) REFERENCES pets(id),
+  FOREIGN KEY (vet_id) REFERENCES vets(id),
+  FOREIGN KEY (clinic_id) REFERENCES clinics(id)
+) engine=InnoDB;
+SET @ddl = IF(EXISTS (SELECT * FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'visits' AND column_name = 'version'),
+  'DO 0', 'ALTER TABLE visits ADD COLUMN version INT NOT NULL DEFAULT 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+SET @ddl = IF(EXISTS (SELECT * FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'visits' AND column_name = 'start_time'),
+  'DO 0', 'ALTER TABLE visits ADD COLUMN vet_id INT(4) UNSIGNED, ADD COLUMN start_time TIME,
+  ADD UNIQUE INDEX visits_vet_id_slot (vet_id, visit_date, start_time), ADD FOREIGN KEY (vet_id) REFERENCES vets(id)');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+SET @ddl = IF(EXISTS (SELECT * FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'visits' AND column_name = 'clinic_id'),
+  'DO 0', 'ALTER TABLE visits ADD COLUMN clinic_id INT(4) UNSIGNED NOT NULL DEFAULT 1,
+  ADD FOREIGN KEY (clinic_id) REFERENCES clinics(id)');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+SET @ddl = IF(EXISTS (SELECT * FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'visits' AND index_name = 'visits_pet_id_visit_date'),
+  'DO 0', 'ALTER TABLE visits ADD INDEX visits_pet_id_visit_date (pet_id, visit_date)');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+CREATE TABLE IF NOT EXISTS visits_archive (
+  id INT(4) UNSIGNED NOT NULL PRIMARY KEY,
+  pet_id INT(4) UNSIGNED,
+  visit_date DATE,
+  description VARCHAR(255),
+  vet_id INT(4) UNSIGNED,
+  start_time TIME,
+  clinic_id INT(4) UNSIGNED NOT NULL,
+  INDEX visits_archive_pet_id_visit_date (pet_id, visit_date),
   FOREIGN KEY (pet_id) REFERENCES pets(id)
 ) engine=InnoDB;
+
+CREATE TABLE IF NOT EXISTS outbox (
+  id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  event_type VARCHAR(20) NOT NULL,
+  owner_id INT(4) UNSIGNED,
+  pet_id INT(4) UNSIGNED,
+  clinic_id INT(4) UNSIGNED NOT NULL DEFAULT 1
+) engine=InnoDB;
@@ -1,9 +1,20 @@
+-- Safe to run on every start. Each table is created as it is now; a table created by an
+-- earlier version gets the columns and indexes added since from the statements after it.
+CREATE TABLE IF NOT EXISTS clinics (
+  id   INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  name TEXT,
+  host TEXT UNIQUE
+);
+INSERT INTO clinics (name) SELECT 'Main clinic' WHERE NOT EXISTS (SELECT * FROM clinics WHERE id=1);
+
 CREATE TABLE IF NOT EXISTS vets (
   id         INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   first_name TEXT,
-  last_name  TEXT
+  last_name  TEXT,
+  clinic_id  INT NOT NULL DEFAULT 1 REFERENCES clinics (id)
 );
-CREATE INDEX ON vets (last_name);
+ALTER TABLE vets ADD COLUMN IF NOT EXISTS clinic_id INT NOT NULL DEFAULT 1 REFERENCES clinics (id);
+CREATE INDEX IF NOT EXISTS vets_clinic_id_last_name ON vets (clinic_id, last_name);
 
 CREATE TABLE IF NOT EXISTS specialties (
   id   INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -29,9 +40,13 @@ CREATE TABLE IF NOT EXISTS owners (
   last_name  TEXT,
   address    TEXT,
   city       TEXT,
-  telephone  TEXT
+  telephone  TEXT,
+  version    INT NOT NULL DEFAULT 0,
+  clinic_id  INT NOT NULL DEFAULT 1 REFERENCES clinics (id)
 );
-CREATE INDEX ON owners (last_name);
+ALTER TABLE owners ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+ALTER TABLE owners ADD COLUMN IF NOT EXISTS clinic_id INT NOT NULL DEFAULT 1 REFERENCES clinics (id);
+CREATE INDEX IF NOT EXISTS owners_clinic_id_last_name ON owners (clinic_id, last_name);
 
 CREATE TABLE IF NOT EXISTS pets (
   id         INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -39,8 +54,10 @@ CREATE TABLE IF NOT EXISTS pets (
   birth_date DATE,
   type_id    INT NOT NULL REFERENCES types (id),
   owner_id   INT REFERENCES owners (id),
-  image      BYTEA
+  image      BYTEA,
+  version    INT NOT NULL DEFAULT 0
 );
+ALTER TABLE pets ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
 CREATE INDEX ON pets (name);
 CREATE INDEX ON pets (owner_id);
 
@@ -48,6 +65,34 @@ CREATE TABLE IF NOT EXISTS visits (
   id          INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   pet_id      INT REFERENCES pets (id),
   visit_date  DATE,
-  description TEXT
+  description TEXT,
+  version     INT NOT NULL DEFAULT 0,
+  vet_id      INT REFERENCES vets (id),
+  start_time  TIME,
+  clinic_id   INT NOT NULL DEFAULT 1 REFERENCES clinics (id)
+);
+ALTER TABLE visits ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0;
+ALTER TABLE visits ADD COLUMN IF NOT EXISTS vet_id INT REFERENCES vets (id);
+ALTER TABLE visits ADD COLUMN IF NOT EXISTS start_time TIME;
+ALTER TABLE visits ADD COLUMN IF NOT EXISTS clinic_id INT NOT NULL DEFAULT 1 REFERENCES clinics (id);
+CREATE INDEX IF NOT EXISTS visits_pet_id_visit_date ON visits (pet_id, visit_date);
+CREATE UNIQUE INDEX IF NOT EXISTS visits_vet_id_slot ON visits (vet_id, visit_date, start_time);
+
+CREATE TABLE IF NOT EXISTS visits_archive (
+  id          INT PRIMARY KEY,
+  pet_id      INT REFERENCES pets (id),
+  visit_date  DATE,
+  description TEXT,
+  vet_id      INT,
+  start_time  TIME,
+  clinic_id   INT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS visits_archive_pet_id_visit_date ON visits_archive (pet_id, visit_date);
+
+CREATE TABLE IF NOT EXISTS outbox (
+  id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  event_type TEXT NOT NULL,
+  owner_id   INT,
+  pet_id     INT,
+  clinic_id  INT NOT NULL DEFAULT 1
 );
-CREATE INDEX ON visits (pet_id);
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.clinic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatException;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for serving several clinics, each under a host name of its own.
+ */
+@SpringBootTest(classes = PetClinicApplication.class, properties = "petclinic.clinics.refresh-interval=0s")
+@AutoConfigureMockMvc
+class MultiClinicIntegrationTests {
+
+	private static final String NORTH = "http://north.example";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private int northId;
+
+	@BeforeEach
+	void addClinic() {
+		String idQuery = "SELECT id FROM clinics WHERE host = 'north.example'";
+		if (this.jdbcTemplate.queryForList(idQuery, Integer.class).isEmpty()) {
+			this.jdbcTemplate.update("INSERT INTO clinics (name, host) VALUES ('North clinic', 'north.example')");
+			this.jdbcTemplate.update(
+					"INSERT INTO vets (first_name, last_name, clinic_id) VALUES ('Nora', 'Solberg', ?)",
+					this.jdbcTemplate.queryForObject(idQuery, Integer.class));
+		}
+		this.northId = this.jdbcTemplate.queryForObject(idQuery, Integer.class);
+	}
+
+	@Test
+	void shouldCreateOwnersInTheClinicOfTheHost() throws Exception {
+		String location = this.mockMvc
+			.perform(post(NORTH + "/owners/new").param("firstName", "Ada")
+				.param("lastName", "Northcote")
+				.param("address", "1 Fjord Road")
+				.param("city", "Tromso")
+				.param("telephone", "0123456789"))
+			.andExpect(status().is3xxRedirection())
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.LOCATION);
+		int ownerId = Integer.parseInt(location.substring(location.lastIndexOf('/') + 1));
+
+		assertThat(
+				this.jdbcTemplate.queryForObject("SELECT clinic_id FROM owners WHERE id = ?", Integer.class, ownerId))
+			.isEqualTo(this.northId);
+		this.mockMvc.perform(get(NORTH + "/api/v1/owners/" + ownerId))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.lastName").value("Northcote"));
+		this.mockMvc.perform(get("/api/v1/owners/" + ownerId)).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void shouldNotShowOwnersOfAnotherClinic() throws Exception {
+		this.mockMvc.perform(get("/api/v1/owners/1")).andExpect(status().isOk());
+		this.mockMvc.perform(get(NORTH + "/api/v1/owners/1")).andExpect(status().isNotFound());
+		this.mockMvc.perform(get(NORTH + "/api/v1/owners").param("lastName", "Franklin"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.items").isEmpty());
+	}
+
+	@Test
+	void shouldNotUpdateOwnersOfAnotherClinic() {
+		assertThatException().isThrownBy(() -> this.mockMvc.perform(post(NORTH + "/owners/1/edit").param("id", "1")
+			.param("version", "0")
+			.param("firstName", "Mallory")
+			.param("lastName", "Franklin")
+			.param("address", "110 W. Liberty St.")
+			.param("city", "Madison")
+			.param("telephone", "6085551023"))).withRootCauseInstanceOf(IllegalArgumentException.class);
+
+		assertThat(this.jdbcTemplate.queryForObject("SELECT first_name FROM owners WHERE id = 1", String.class))
+			.isEqualTo("George");
+	}
+
+	@Test
+	void shouldCacheVetsPerClinic() throws Exception {
+		this.mockMvc.perform(get("/api/v1/vets"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.items[0].lastName").value("Carter"));
+		this.mockMvc.perform(get(NORTH + "/api/v1/vets"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.items.length()").value(1))
+			.andExpect(jsonPath("$.items[0].lastName").value("Solberg"));
+
+		this.mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON))
+			.andExpect(content().string(containsString("Carter")))
+			.andExpect(content().string(not(containsString("Solberg"))));
+		this.mockMvc.perform(get(NORTH + "/vets").accept(MediaType.APPLICATION_JSON))
+			.andExpect(content().string(containsString("Solberg")))
+			.andExpect(content().string(not(containsString("Carter"))));
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Closed-loop HTTP load generator built on the JDK {@link HttpClient}. Every worker sends
+ * one request after the other, cycling through the endpoints, and latencies are recorded
+ * per endpoint once the warm-up period is over.
+ * <p>
+ * Workers run on virtual threads when the JVM provides them (Java 21+), and on a fixed
+ * pool of platform threads otherwise.
+ * </p>
+ */
+class HttpLoadGenerator {
+
+	private final URI baseUri;
+
+	private final int concurrency;
+
+	private final Duration warmup;
+
+	private final Duration duration;
+
+	HttpLoadGenerator(URI baseUri, int concurrency, Duration warmup, Duration duration) {
+		this.baseUri = baseUri;
+		this.concurrency = concurrency;
+		this.warmup = warmup;
+		this.duration = duration;
+	}
+
+	LoadTestReport run(List<Endpoint> endpoints) throws Exception {
+		List<LoadTestReport.EndpointStats> stats = endpoints.stream()
+			.map(endpoint -> new LoadTestReport.EndpointStats(endpoint.name()))
+			.toList();
+		long start = System.nanoTime();
+		long measureFrom = start + this.warmup.toNanos();
+		long end = measureFrom + this.duration.toNanos();
+
+		ExecutorService executor = newVirtualThreadExecutor();
+		String threadMode = (executor != null) ? "virtual" : "platform";
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(this.concurrency);
+		}
+		try {
+			HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+			List<Future<?>> workers = new ArrayList<>();
+			for (int w = 0; w < this.concurrency; w++) {
+				SplittableRandom random = new SplittableRandom(w);
+				int offset = w;
+				workers.add(executor.submit(() -> {
+					int next = offset;
+					while (true) {
+						long now = System.nanoTime();
+						if (now >= end) {
+							return null;
+						}
+						int index = next++ % endpoints.size();
+						Endpoint endpoint = endpoints.get(index);
+						HttpRequest request = endpoint.request().apply(this.baseUri, random);
+						boolean ok;
+						try {
+							HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+							ok = endpoint.success().test(response.statusCode());
+						}
+						catch (IOException ex) {
+							ok = false;
+						}
+						if (now >= measureFrom) {
+							stats.get(index).record(System.nanoTime() - now, ok);
+						}
+					}
+				}));
+			}
+			for (Future<?> worker : workers) {
+				worker.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		return new LoadTestReport(this.concurrency, this.duration, threadMode, stats);
+	}
+
+	/**
+	 * Return a virtual-thread-per-task executor, or {@code null} before Java 21. Looked
+	 * up reflectively so that the harness still compiles against Java 17.
+	 */
+	static ExecutorService newVirtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		catch (ReflectiveOperationException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * A named endpoint, a factory for randomized requests against it, and the status
+	 * codes that count as success. The client does not follow redirects, so a form post
+	 * that passes validation answers with its redirect, while a rejected one renders the
+	 * form again with a 200.
+	 */
+	record Endpoint(String name, BiFunction<URI, SplittableRandom, HttpRequest> request, IntPredicate success) {
+
+		/**
+		 * An endpoint that succeeds with any status below 400.
+		 */
+		Endpoint(String name, BiFunction<URI, SplittableRandom, HttpRequest> request) {
+			this(name, request, (status) -> status < 400);
+		}
+
+		/**
+		 * A form post that only succeeds with a {@code 302} redirect.
+		 */
+		static Endpoint form(String name, BiFunction<URI, SplittableRandom, HttpRequest> request) {
+			return new Endpoint(name, request, (status) -> status == 302);
+		}
+
+	}
+
+}
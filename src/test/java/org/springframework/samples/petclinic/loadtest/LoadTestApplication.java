@@ -0,0 +1,172 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.loadtest.HttpLoadGenerator.Endpoint;
+import org.springframework.samples.petclinic.system.ClinicDataGenerator;
+import org.springframework.samples.petclinic.system.JdbcClinicDataWriter;
+
+/**
+ * Starts PetClinic on an in-memory H2 database (or the database of the active profile),
+ * seeds it with a synthetic clinic and drives the main pages with concurrent HTTP
+ * traffic, then prints p50/p99 latency and throughput per endpoint.
+ * <p>
+ * All options are regular Spring properties, so any application property can be
+ * overridden the same way:
+ * </p>
+ * <ul>
+ * <li>{@code loadtest.owners} (2000), {@code loadtest.pets-per-owner} (3) and
+ * {@code loadtest.visits-per-pet} (10) size the seeded clinic</li>
+ * <li>{@code loadtest.concurrency} (32) is the number of concurrent clients</li>
+ * <li>{@code loadtest.warmup} (10s) and {@code loadtest.duration} (30s) bound the
+ * run</li>
+ * <li>{@code loadtest.scenario} ({@code all}) selects the endpoints: {@code all} of them,
+ * {@code booking} for just owner search and visit booking, the pages most sensitive to
+ * connection pool settings, or {@code pages} for the pages whose time is mostly spent
+ * rendering templates</li>
+ * <li>{@code spring.threads.virtual.enabled} (false) handles requests on virtual threads
+ * on Java 21 or later, for comparing both modes</li>
+ * </ul>
+ *
+ * <pre class="code">
+ * ./mvnw -P loadtest test-compile exec:exec -Dloadtest.args="--loadtest.owners=10000 --loadtest.concurrency=64"
+ * </pre>
+ */
+public class LoadTestApplication {
+
+	public static void main(String[] args) throws Exception {
+		// a devtools restart would replay main() with the arguments below added twice
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		// and its development defaults, such as disabled template caching, would skew
+		// the numbers
+		System.setProperty("spring.devtools.add-properties", "false");
+		String[] appArgs = Stream
+			.concat(Stream.of("--server.port=0", "--spring.docker.compose.enabled=false", "--logging.level.root=WARN"),
+					Stream.of(args))
+			.toArray(String[]::new);
+		try (ConfigurableApplicationContext context = SpringApplication.run(PetClinicApplication.class, appArgs)) {
+			Environment env = context.getEnvironment();
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+			new ClinicDataGenerator(env.getProperty("loadtest.seed", Long.class, 42L), LocalDate.now()).generate(
+					env.getProperty("loadtest.owners", Integer.class, 2000),
+					env.getProperty("loadtest.pets-per-owner", Integer.class, 3),
+					env.getProperty("loadtest.visits-per-pet", Integer.class, 10),
+					new JdbcClinicDataWriter(jdbcTemplate));
+			SeededClinic clinic = SeededClinic.load(jdbcTemplate);
+
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			HttpLoadGenerator generator = new HttpLoadGenerator(URI.create("http://localhost:" + port),
+					env.getProperty("loadtest.concurrency", Integer.class, 32),
+					env.getProperty("loadtest.warmup", Duration.class, Duration.ofSeconds(10)),
+					env.getProperty("loadtest.duration", Duration.class, Duration.ofSeconds(30)));
+			// Spring Boot only switches to virtual threads on Java 21 or later
+			boolean virtualThreads = env.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+					&& Runtime.version().feature() >= 21;
+			generator.run(endpoints(clinic, env.getProperty("loadtest.scenario", "all")))
+				.serverThreadMode(virtualThreads ? "virtual" : "platform")
+				.print(System.out);
+		}
+	}
+
+	static List<Endpoint> endpoints(SeededClinic clinic, String scenario) {
+		List<Endpoint> endpoints = allEndpoints(clinic);
+		if (scenario.equals("booking")) {
+			return endpoints.stream()
+				.filter((endpoint) -> endpoint.name().startsWith("GET /owners?") || endpoint.name().startsWith("POST"))
+				.toList();
+		}
+		if (scenario.equals("pages")) {
+			return endpoints.stream()
+				.filter((endpoint) -> endpoint.name().equals("GET /vets.html")
+						|| endpoint.name().equals("GET /owners/find"))
+				.toList();
+		}
+		return endpoints;
+	}
+
+	private static List<Endpoint> allEndpoints(SeededClinic clinic) {
+		return List.of(new Endpoint("GET /", (base, random) -> get(base, "/")),
+				new Endpoint("GET /owners/find", (base, random) -> get(base, "/owners/find")),
+				new Endpoint("GET /owners?lastName=",
+						(base, random) -> get(base, "/owners?lastName=" + lastNamePrefix(clinic, random))),
+				new Endpoint("GET /owners/{id}", (base, random) -> get(base, "/owners/" + randomOwner(clinic, random))),
+				new Endpoint("GET /vets.html", (base, random) -> get(base, "/vets.html")),
+				new Endpoint("GET /vets",
+						(base, random) -> HttpRequest.newBuilder(base.resolve("/vets"))
+							.header("Accept", "application/json")
+							.build()),
+				new Endpoint("GET pet image", (base, random) -> get(base, randomPet(clinic, random) + "/image")),
+				Endpoint.form("POST visit booking", (base, random) -> {
+					String form = "date=" + LocalDate.now().plusDays(random.nextInt(1, 60)) + "&description=checkup";
+					return HttpRequest.newBuilder(base.resolve(randomPet(clinic, random) + "/visits/new"))
+						.header("Content-Type", "application/x-www-form-urlencoded")
+						.POST(HttpRequest.BodyPublishers.ofString(form))
+						.build();
+				}));
+	}
+
+	private static HttpRequest get(URI base, String path) {
+		return HttpRequest.newBuilder(base.resolve(path)).GET().build();
+	}
+
+	private static String lastNamePrefix(SeededClinic clinic, SplittableRandom random) {
+		return clinic.lastNames()[random.nextInt(clinic.lastNames().length)].substring(0, 3);
+	}
+
+	private static int randomOwner(SeededClinic clinic, SplittableRandom random) {
+		return clinic.ownerIds()[random.nextInt(clinic.size())];
+	}
+
+	private static String randomPet(SeededClinic clinic, SplittableRandom random) {
+		int pet = random.nextInt(clinic.size());
+		return "/owners/" + clinic.ownerIds()[pet] + "/pets/" + clinic.petIds()[pet];
+	}
+
+	/**
+	 * The pets of the seeded clinic, with {@code ownerIds[i]} owning {@code petIds[i]},
+	 * and the distinct owner last names to search for.
+	 */
+	record SeededClinic(int[] petIds, int[] ownerIds, String[] lastNames) {
+
+		static SeededClinic load(JdbcTemplate jdbcTemplate) {
+			List<int[]> pets = jdbcTemplate.query("SELECT id, owner_id FROM pets ORDER BY id",
+					(rs, rowNum) -> new int[] { rs.getInt(1), rs.getInt(2) });
+			List<String> lastNames = jdbcTemplate.queryForList("SELECT DISTINCT last_name FROM owners", String.class);
+			return new SeededClinic(pets.stream().mapToInt((pet) -> pet[0]).toArray(),
+					pets.stream().mapToInt((pet) -> pet[1]).toArray(), lastNames.toArray(String[]::new));
+		}
+
+		int size() {
+			return this.petIds.length;
+		}
+
+	}
+
+}
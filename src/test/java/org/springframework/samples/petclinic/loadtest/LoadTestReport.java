@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-endpoint throughput and latency percentiles of a load-test run.
+ */
+class LoadTestReport {
+
+	private final int concurrency;
+
+	private final Duration duration;
+
+	private final String threadMode;
+
+	private final List<EndpointStats> endpoints;
+
+	private String serverThreadMode = "platform";
+
+	LoadTestReport(int concurrency, Duration duration, String threadMode, List<EndpointStats> endpoints) {
+		this.concurrency = concurrency;
+		this.duration = duration;
+		this.threadMode = threadMode;
+		this.endpoints = endpoints;
+	}
+
+	/**
+	 * Set whether the server handled requests on {@code virtual} or {@code platform}
+	 * threads, for the report header.
+	 */
+	LoadTestReport serverThreadMode(String serverThreadMode) {
+		this.serverThreadMode = serverThreadMode;
+		return this;
+	}
+
+	void print(PrintStream out) {
+		double seconds = this.duration.toMillis() / 1000.0;
+		out.printf("%nLoad test: %d concurrent %s-thread clients against %s-thread request handling for %s%n%n",
+				this.concurrency, this.threadMode, this.serverThreadMode, this.duration);
+		out.printf("%-28s %10s %8s %10s %10s %10s %10s%n", "endpoint", "requests", "errors", "req/s", "p50 ms",
+				"p99 ms", "max ms");
+		long total = 0;
+		for (EndpointStats stats : this.endpoints) {
+			long[] latencies = stats.snapshot();
+			total += latencies.length;
+			out.printf("%-28s %10d %8d %10.1f %10.2f %10.2f %10.2f%n", stats.name, latencies.length, stats.errors(),
+					latencies.length / seconds, millis(percentile(latencies, 0.50)),
+					millis(percentile(latencies, 0.99)), millis(percentile(latencies, 1.0)));
+		}
+		out.printf("%-28s %10d %8s %10.1f%n%n", "total", total, "", total / seconds);
+	}
+
+	static long percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	/**
+	 * Latencies and errors recorded for one endpoint.
+	 */
+	static class EndpointStats {
+
+		private final String name;
+
+		private long[] latencies = new long[1024];
+
+		private int count;
+
+		private long errors;
+
+		EndpointStats(String name) {
+			this.name = name;
+		}
+
+		synchronized void record(long latencyNanos, boolean ok) {
+			if (this.count == this.latencies.length) {
+				this.latencies = Arrays.copyOf(this.latencies, this.count * 2);
+			}
+			this.latencies[this.count++] = latencyNanos;
+			if (!ok) {
+				this.errors++;
+			}
+		}
+
+		synchronized long errors() {
+			return this.errors;
+		}
+
+		/**
+		 * Return the recorded latencies in ascending order.
+		 */
+		synchronized long[] snapshot() {
+			long[] sorted = Arrays.copyOf(this.latencies, this.count);
+			Arrays.sort(sorted);
+			return sorted;
+		}
+
+	}
+
+}
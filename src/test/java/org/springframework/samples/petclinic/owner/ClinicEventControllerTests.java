@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link ClinicEventController}
+ */
+@WebMvcTest(ClinicEventController.class)
+@Import(ClinicEventControllerTests.Config.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class ClinicEventControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ClinicEventStream stream;
+
+	@Test
+	void shouldStreamPublishedEvents() throws Exception {
+		MvcResult result = this.mockMvc.perform(get("/events").accept(MediaType.TEXT_EVENT_STREAM))
+			.andExpect(status().isOk())
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		this.stream.publish(new ClinicEvent(ClinicEvent.Type.VISIT_CREATED, 6, 7));
+
+		assertThat(result.getResponse().getContentAsString()).contains("event:visit-created")
+			.contains("\"ownerId\":6")
+			.contains("\"petId\":7");
+	}
+
+	@Test
+	void shouldReplayMissedEventsOnReconnect() throws Exception {
+		MvcResult first = this.mockMvc.perform(get("/events").accept(MediaType.TEXT_EVENT_STREAM)).andReturn();
+		this.stream.publish(new ClinicEvent(ClinicEvent.Type.OWNER_CREATED, 11, null));
+		String received = first.getResponse().getContentAsString();
+		String lastEventId = received.substring(received.indexOf("id:") + 3, received.indexOf('\n'));
+
+		this.stream.publish(new ClinicEvent(ClinicEvent.Type.OWNER_UPDATED, 11, null));
+		this.stream.publish(new ClinicEvent(ClinicEvent.Type.PET_CREATED, 11, 14));
+		MvcResult reconnect = this.mockMvc
+			.perform(get("/events").header("Last-Event-ID", lastEventId).accept(MediaType.TEXT_EVENT_STREAM))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		assertThat(reconnect.getResponse().getContentAsString()).doesNotContain("owner-created")
+			.contains("event:owner-updated")
+			.contains("event:pet-created");
+	}
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		ClinicEventStream clinicEventStream() {
+			return new ClinicEventStream(Runnable::run, 8, 16, 10, Duration.ofMinutes(1));
+		}
+
+	}
+
+}
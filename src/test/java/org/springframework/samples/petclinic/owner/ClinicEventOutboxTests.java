@@ -0,0 +1,249 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.jdbc.test.autoconfigure.JdbcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ClinicEventOutbox}. The tests commit their own transactions, so the
+ * relay runs as it does in the application.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ClinicEventOutbox.class, ClinicEventOutboxTests.Config.class,
+		ClinicEventOutboxTests.RecordingListener.class })
+class ClinicEventOutboxTests {
+
+	@Autowired
+	private ClinicEventOutbox outbox;
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private RecordingListener listener;
+
+	@AfterEach
+	void clearOutbox() {
+		this.jdbcTemplate.update("DELETE FROM outbox");
+		this.listener.relayed.clear();
+		this.listener.failingOwners.clear();
+	}
+
+	@Test
+	void shouldRelayCommittedEvents() {
+		ClinicEvent created = new ClinicEvent(ClinicEvent.Type.OWNER_CREATED, 1, null);
+		ClinicEvent updated = new ClinicEvent(ClinicEvent.Type.OWNER_UPDATED, 1, null);
+
+		this.transactionTemplate.executeWithoutResult((status) -> {
+			this.publisher.publishEvent(created);
+			this.publisher.publishEvent(updated);
+			assertThat(this.listener.relayed).isEmpty();
+		});
+
+		assertThat(this.listener.relayed).extracting(RelayedClinicEvent::event).containsExactly(created, updated);
+		assertThat(this.listener.relayed.get(0).sequence()).isLessThan(this.listener.relayed.get(1).sequence());
+		assertThat(pendingCount()).isZero();
+	}
+
+	@Test
+	void shouldNotStoreEventsOfRolledBackTransactions() {
+		this.transactionTemplate.executeWithoutResult((status) -> {
+			this.publisher.publishEvent(new ClinicEvent(ClinicEvent.Type.PET_CREATED, 1, 2));
+			status.setRollbackOnly();
+		});
+
+		assertThat(this.listener.relayed).isEmpty();
+		assertThat(pendingCount()).isZero();
+	}
+
+	@Test
+	void shouldRequireTransaction() {
+		assertThatExceptionOfType(IllegalTransactionStateException.class)
+			.isThrownBy(() -> this.publisher.publishEvent(new ClinicEvent(ClinicEvent.Type.OWNER_UPDATED, 1, null)));
+	}
+
+	@Test
+	void shouldHoldBackLaterEventsOfOwnerWhenListenerFails() {
+		ClinicEvent first = new ClinicEvent(ClinicEvent.Type.PET_CREATED, 1, 2);
+		ClinicEvent second = new ClinicEvent(ClinicEvent.Type.VISIT_CREATED, 1, 2);
+		ClinicEvent other = new ClinicEvent(ClinicEvent.Type.OWNER_UPDATED, 3, null);
+		this.listener.failingOwners.add(1);
+
+		this.transactionTemplate.executeWithoutResult((status) -> {
+			this.publisher.publishEvent(first);
+			this.publisher.publishEvent(second);
+			this.publisher.publishEvent(other);
+		});
+
+		assertThat(this.listener.relayed).extracting(RelayedClinicEvent::event).containsExactly(other);
+		assertThat(pendingCount()).isEqualTo(2);
+
+		this.listener.failingOwners.clear();
+		this.outbox.relay();
+
+		assertThat(this.listener.relayed).extracting(RelayedClinicEvent::event).containsExactly(other, first, second);
+		assertThat(pendingCount()).isZero();
+	}
+
+	@Test
+	void shouldRelayEventCommittedAfterLaterOnesOfOtherOwners() throws Exception {
+		ClinicEvent earlier = new ClinicEvent(ClinicEvent.Type.OWNER_UPDATED, 1, null);
+		ClinicEvent later = new ClinicEvent(ClinicEvent.Type.OWNER_UPDATED, 3, null);
+		CountDownLatch appended = new CountDownLatch(1);
+		CountDownLatch commit = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> first = executor.submit(() -> this.transactionTemplate.executeWithoutResult((status) -> {
+				this.publisher.publishEvent(earlier);
+				appended.countDown();
+				await(commit);
+			}));
+			await(appended);
+			this.transactionTemplate.executeWithoutResult((status) -> this.publisher.publishEvent(later));
+
+			assertThat(this.listener.relayed).extracting(RelayedClinicEvent::event).containsExactly(later);
+
+			commit.countDown();
+			first.get();
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		assertThat(this.listener.relayed).extracting(RelayedClinicEvent::event).containsExactly(later, earlier);
+		assertThat(this.listener.relayed.get(1).sequence()).isLessThan(this.listener.relayed.get(0).sequence());
+		assertThat(pendingCount()).isZero();
+	}
+
+	@Test
+	void shouldCommitEventsOfOneOwnerInTheOrderTheyWereWritten() throws Exception {
+		ClinicEvent created = new ClinicEvent(ClinicEvent.Type.PET_CREATED, 1, 2);
+		ClinicEvent booked = new ClinicEvent(ClinicEvent.Type.VISIT_CREATED, 1, 2);
+		CountDownLatch appended = new CountDownLatch(1);
+		CountDownLatch commit = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> first = executor.submit(() -> this.transactionTemplate.executeWithoutResult((status) -> {
+				this.publisher.publishEvent(created);
+				appended.countDown();
+				await(commit);
+			}));
+			await(appended);
+			Future<?> second = executor.submit(() -> this.transactionTemplate
+				.executeWithoutResult((status) -> this.publisher.publishEvent(booked)));
+
+			// the second transaction waits for the owner's row rather than commit first
+			assertThatExceptionOfType(TimeoutException.class).isThrownBy(() -> second.get(200, TimeUnit.MILLISECONDS));
+			assertThat(this.listener.relayed).isEmpty();
+
+			commit.countDown();
+			first.get();
+			second.get();
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		assertThat(this.listener.relayed).extracting(RelayedClinicEvent::event).containsExactly(created, booked);
+		assertThat(pendingCount()).isZero();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private int pendingCount() {
+		return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox", Integer.class);
+	}
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		SyncTaskExecutor applicationTaskExecutor() {
+			return new SyncTaskExecutor();
+		}
+
+	}
+
+	// a component, as plain beans in org.springframework packages are not scanned for
+	// listener methods
+	@Component
+	static class RecordingListener {
+
+		final List<RelayedClinicEvent> relayed = Collections.synchronizedList(new ArrayList<>());
+
+		final Set<Integer> failingOwners = new HashSet<>();
+
+		@EventListener
+		void onRelayed(RelayedClinicEvent event) {
+			if (this.failingOwners.contains(event.event().ownerId())) {
+				throw new IllegalStateException("Listener failed");
+			}
+			this.relayed.add(event);
+		}
+
+	}
+
+}
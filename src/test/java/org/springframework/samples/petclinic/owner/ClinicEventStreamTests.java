@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.clinic.ClinicContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ClinicEventStream}.
+ */
+class ClinicEventStreamTests {
+
+	private final List<Runnable> tasks = new ArrayList<>();
+
+	@Test
+	void shouldScheduleOneDrainPerSubscriberAtATime() {
+		ClinicEventStream stream = new ClinicEventStream(this.tasks::add, 8, 16, 10, Duration.ofMinutes(1));
+		stream.subscribe(null);
+
+		stream.publish(new ClinicEvent(ClinicEvent.Type.OWNER_CREATED, 1, null));
+		stream.publish(new ClinicEvent(ClinicEvent.Type.OWNER_UPDATED, 1, null));
+
+		assertThat(this.tasks).hasSize(1);
+	}
+
+	@Test
+	void shouldDropSubscriberThatFallsBehind() {
+		ClinicEventStream stream = new ClinicEventStream(this.tasks::add, 2, 16, 10, Duration.ofMinutes(1));
+		stream.subscribe(null);
+
+		for (int i = 0; i < 3; i++) {
+			stream.publish(new ClinicEvent(ClinicEvent.Type.VISIT_CREATED, 1, 1));
+		}
+
+		assertThat(stream.getSubscriberCount()).isZero();
+	}
+
+	@Test
+	void shouldOnlySendEventsOfTheSubscribersClinic() {
+		ClinicEventStream stream = new ClinicEventStream(this.tasks::add, 8, 16, 10, Duration.ofMinutes(1));
+		stream.subscribe(null);
+
+		stream.publish(2, new ClinicEvent(ClinicEvent.Type.OWNER_CREATED, 1, null));
+		assertThat(this.tasks).isEmpty();
+
+		stream.publish(ClinicContextHolder.DEFAULT_CLINIC_ID, new ClinicEvent(ClinicEvent.Type.OWNER_CREATED, 1, null));
+		assertThat(this.tasks).hasSize(1);
+	}
+
+	@Test
+	void shouldLimitSubscribers() {
+		ClinicEventStream stream = new ClinicEventStream(this.tasks::add, 2, 16, 1, Duration.ofMinutes(1));
+		stream.subscribe(null);
+
+		assertThatExceptionOfType(ResponseStatusException.class).isThrownBy(() -> stream.subscribe(null));
+	}
+
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link OwnerApiController}
+ */
+@WebMvcTest(OwnerApiController.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class OwnerApiControllerTests {
+
+	private static final OwnerDto GEORGE = new OwnerDto(1, "George", "Franklin", "110 W. Liberty St.", "Madison",
+			"6085551023");
+
+	private static final OwnerDto BETTY = new OwnerDto(2, "Betty", "Davis", "638 Cardinal Ave.", "Sun Prairie",
+			"6085551749");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private OwnerRepository owners;
+
+	@MockitoBean
+	private VisitHistory visitHistory;
+
+	@Test
+	void shouldReturnFirstPageWithNextKey() throws Exception {
+		given(this.owners.findOwnerDtos("", 0, Limit.of(2))).willReturn(List.of(GEORGE, BETTY));
+
+		this.mockMvc.perform(get("/api/v1/owners?size=1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.items", hasSize(1)))
+			.andExpect(jsonPath("$.items[0].lastName").value("Franklin"))
+			.andExpect(jsonPath("$.items[0].pets").doesNotExist())
+			.andExpect(jsonPath("$.next").value(1))
+			.andExpect(
+					header().string(HttpHeaders.LINK, "<http://localhost/api/v1/owners?size=1&after=1>; rel=\"next\""));
+	}
+
+	@Test
+	void shouldReturnLastPageWithoutNextKey() throws Exception {
+		given(this.owners.findOwnerDtos("Da", 1, Limit.of(21))).willReturn(List.of(BETTY));
+
+		this.mockMvc.perform(get("/api/v1/owners").param("lastName", "Da").param("after", "1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.items[0].id").value(2))
+			.andExpect(jsonPath("$.next", nullValue()));
+	}
+
+	@Test
+	void shouldCapPageSize() throws Exception {
+		given(this.owners.findOwnerDtos("", 0, Limit.of(OwnerApiController.MAX_PAGE_SIZE + 1)))
+			.willReturn(List.of(GEORGE));
+
+		this.mockMvc.perform(get("/api/v1/owners").param("size", "5000"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.items", hasSize(1)));
+	}
+
+	@Test
+	void shouldReturnOnlySelectedFields() throws Exception {
+		given(this.owners.findOwnerDtoById(1)).willReturn(Optional.of(GEORGE));
+
+		this.mockMvc.perform(get("/api/v1/owners/1").param("fields", "id,lastName"))
+			.andExpect(status().isOk())
+			.andExpect(content().json("{\"id\":1,\"lastName\":\"Franklin\"}", true));
+	}
+
+	@Test
+	void shouldRejectUnknownFields() throws Exception {
+		given(this.owners.findOwnerDtoById(1)).willReturn(Optional.of(GEORGE));
+
+		this.mockMvc.perform(get("/api/v1/owners/1").param("fields", "id,pets")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void shouldAnswerNotModifiedForMatchingETag() throws Exception {
+		given(this.owners.findOwnerDtoById(1)).willReturn(Optional.of(GEORGE));
+
+		MvcResult result = this.mockMvc.perform(get("/api/v1/owners/1"))
+			.andExpect(status().isOk())
+			.andExpect(header().exists(HttpHeaders.ETAG))
+			.andReturn();
+		String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+		this.mockMvc.perform(get("/api/v1/owners/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+	}
+
+	@Test
+	void shouldChangeETagWithTheData() throws Exception {
+		given(this.owners.findOwnerDtoById(1)).willReturn(Optional.of(GEORGE),
+				Optional.of(new OwnerDto(1, "George", "Franklin", "110 W. Liberty St.", "Madison", "6085551024")));
+
+		String etag = this.mockMvc.perform(get("/api/v1/owners/1"))
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+
+		this.mockMvc.perform(get("/api/v1/owners/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.telephone").value("6085551024"));
+	}
+
+	@Test
+	void shouldReturnNotFoundForUnknownOwner() throws Exception {
+		this.mockMvc.perform(get("/api/v1/owners/99")).andExpect(status().isNotFound());
+		this.mockMvc.perform(get("/api/v1/owners/99/pets")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void shouldListPetsOfOwner() throws Exception {
+		given(this.owners.findPetDtos(1)).willReturn(List.of(new PetDto(1, 1, "Leo", LocalDate.of(2010, 9, 7), "cat")));
+
+		this.mockMvc.perform(get("/api/v1/owners/1/pets"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.items[0].birthDate").value("2010-09-07"))
+			.andExpect(jsonPath("$.items[0].type").value("cat"))
+			.andExpect(jsonPath("$.next", nullValue()));
+	}
+
+	@Test
+	void shouldListVisitsOfPet() throws Exception {
+		given(this.owners.findVisitDtos(6, 7, 0, Limit.of(21)))
+			.willReturn(List.of(new VisitDto(1, 7, LocalDate.of(2013, 1, 1), "rabies shot")));
+
+		this.mockMvc.perform(get("/api/v1/owners/6/pets/7/visits"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.items[0].description").value("rabies shot"));
+	}
+
+	@Test
+	void shouldListArchivedVisitsInIdOrder() throws Exception {
+		given(this.owners.findVisitDtos(6, 7, 0, Limit.of(3)))
+			.willReturn(List.of(new VisitDto(4, 7, LocalDate.of(2013, 1, 4), "spayed")));
+		given(this.visitHistory.archivedAfter(6, 7, 0, 3))
+			.willReturn(List.of(new VisitDto(1, 7, LocalDate.of(2013, 1, 1), "rabies shot"),
+					new VisitDto(5, 7, LocalDate.of(2012, 6, 1), "checkup")));
+
+		this.mockMvc.perform(get("/api/v1/owners/6/pets/7/visits?size=2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.items[0].description").value("rabies shot"))
+			.andExpect(jsonPath("$.items[1].description").value("spayed"))
+			.andExpect(jsonPath("$.next").value(4));
+	}
+
+	@Test
+	void shouldReturnNotFoundForPetOfAnotherOwner() throws Exception {
+		given(this.owners.findPetDtos(1)).willReturn(List.of(new PetDto(1, 1, "Leo", LocalDate.of(2010, 9, 7), "cat")));
+
+		this.mockMvc.perform(get("/api/v1/owners/1/pets/7/visits")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void shouldWriteListAsCsv() throws Exception {
+		given(this.owners.findOwnerDtos("", 0, Limit.of(21))).willReturn(List.of(GEORGE, BETTY));
+
+		this.mockMvc.perform(get("/api/v1/owners").accept("text/csv"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType("text/csv;charset=UTF-8"))
+			.andExpect(content().string("""
+					id,firstName,lastName,address,city,telephone
+					1,George,Franklin,"110 W. Liberty St.",Madison,6085551023
+					2,Betty,Davis,"638 Cardinal Ave.","Sun Prairie",6085551749
+					"""));
+	}
+
+	@Test
+	void shouldNotWriteSingleOwnerAsCsv() throws Exception {
+		given(this.owners.findOwnerDtoById(1)).willReturn(Optional.of(GEORGE));
+
+		this.mockMvc.perform(get("/api/v1/owners/1").accept("text/csv")).andExpect(status().isNotAcceptable());
+		this.mockMvc.perform(get("/api/v1/owners/1").accept("text/csv", "application/json"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.lastName").value("Franklin"));
+	}
+
+	@Test
+	void shouldWriteSelectedFieldsAsCsv() throws Exception {
+		given(this.owners.findPetDtos(1)).willReturn(List.of(new PetDto(1, 1, "Leo", LocalDate.of(2010, 9, 7), "cat")));
+
+		this.mockMvc.perform(get("/api/v1/owners/1/pets").param("fields", "name,birthDate").accept("text/csv"))
+			.andExpect(status().isOk())
+			.andExpect(content().string("name,birthDate\nLeo,2010-09-07\n"));
+	}
+
+	@Test
+	void shouldWriteCbor() throws Exception {
+		given(this.owners.findOwnerDtoById(1)).willReturn(Optional.of(GEORGE));
+
+		byte[] body = this.mockMvc.perform(get("/api/v1/owners/1").accept(MediaType.APPLICATION_CBOR))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+			.andReturn()
+			.getResponse()
+			.getContentAsByteArray();
+
+		assertThat(new CBORMapper().readValue(body, OwnerDto.class)).isEqualTo(GEORGE);
+	}
+
+	@Test
+	void shouldTagEachFormatSeparately() throws Exception {
+		given(this.owners.findOwnerDtoById(1)).willReturn(Optional.of(GEORGE));
+
+		String json = this.mockMvc.perform(get("/api/v1/owners/1").accept(MediaType.APPLICATION_JSON))
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+		String smile = this.mockMvc.perform(get("/api/v1/owners/1").accept("application/x-jackson-smile"))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+
+		assertThat(smile).isNotEqualTo(json);
+	}
+
+	@Test
+	void shouldTagEquivalentAcceptHeadersAlike() throws Exception {
+		given(this.owners.findOwnerDtoById(1)).willReturn(Optional.of(GEORGE));
+
+		String json = this.mockMvc.perform(get("/api/v1/owners/1").accept(MediaType.APPLICATION_JSON))
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+
+		this.mockMvc.perform(get("/api/v1/owners/1").header(HttpHeaders.ACCEPT, "application/json, */*;q=0.8"))
+			.andExpect(header().string(HttpHeaders.ETAG, json));
+		this.mockMvc.perform(get("/api/v1/owners/1")).andExpect(header().string(HttpHeaders.ETAG, json));
+	}
+
+}
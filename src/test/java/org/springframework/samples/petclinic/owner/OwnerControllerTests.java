@@ -68,6 +68,9 @@ class OwnerControllerTests {
 	@MockitoBean
 	private OwnerRepository owners;
 
+	@MockitoBean
+	private VisitHistory visitHistory;
+
 	private Owner george() {
 		Owner george = new Owner();
 		george.setId(TEST_OWNER_ID);
@@ -95,9 +98,13 @@ class OwnerControllerTests {
 			.willReturn(new PageImpl<>(List.of(george)));
 
 		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(george));
+		given(this.owners.findReadOnlyById(TEST_OWNER_ID)).willReturn(Optional.of(george));
+		given(this.owners.updateOwnerDetails(any(Owner.class))).willReturn(1);
 		Visit visit = new Visit();
 		visit.setDate(LocalDate.now());
 		george.getPet("Max").getVisits().add(visit);
+		given(this.visitHistory.recent(any(Pet.class))).willAnswer(
+				(invocation) -> new VisitHistory.Page(List.copyOf(invocation.<Pet>getArgument(0).getVisits()), false));
 
 	}
 
@@ -192,6 +199,27 @@ class OwnerControllerTests {
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
 	}
 
+	@Test
+	void testProcessUpdateOwnerFormConcurrentUpdate() throws Exception {
+		Owner current = george();
+		current.setVersion(4);
+		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(george()), Optional.of(current));
+		given(this.owners.updateOwnerDetails(any(Owner.class))).willReturn(0);
+
+		mockMvc
+			.perform(post("/owners/{ownerId}/edit", TEST_OWNER_ID).param("version", "3")
+				.param("firstName", "Joe")
+				.param("lastName", "Bloggs")
+				.param("address", "123 Caramel Street")
+				.param("city", "London")
+				.param("telephone", "1616291589"))
+			.andExpect(status().isOk())
+			.andExpect(model().attributeHasErrors("owner"))
+			.andExpect(model().attribute("owner", hasProperty("lastName", is("Bloggs"))))
+			.andExpect(model().attribute("owner", hasProperty("version", is(4))))
+			.andExpect(view().name("owners/createOrUpdateOwnerForm"));
+	}
+
 	@Test
 	void testProcessUpdateOwnerFormUnchangedSuccess() throws Exception {
 		mockMvc.perform(post("/owners/{ownerId}/edit", TEST_OWNER_ID))
@@ -228,6 +256,16 @@ class OwnerControllerTests {
 			.andExpect(view().name("owners/ownerDetails"));
 	}
 
+	@Test
+	void testShowOwnerNotYetOnReplica() throws Exception {
+		given(this.owners.findReadOnlyById(TEST_OWNER_ID)).willReturn(Optional.empty());
+
+		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("owner", hasProperty("lastName", is("Franklin"))))
+			.andExpect(view().name("owners/ownerDetails"));
+	}
+
 	@Test
 	public void testProcessUpdateOwnerFormWithIdMismatch() throws Exception {
 		int pathOwnerId = 1;
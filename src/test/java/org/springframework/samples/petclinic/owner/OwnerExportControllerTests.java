@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link OwnerExportController}
+ */
+@WebMvcTest(OwnerExportController.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class OwnerExportControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private OwnerExporter exporter;
+
+	@Test
+	void testExportDefaultsToNdjson() throws Exception {
+		mockMvc.perform(get("/owners/export"))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+			.andExpect(header().string("Content-Disposition", "attachment; filename=\"owners.ndjson\""));
+		verify(exporter).export(eq(OwnerExporter.Format.NDJSON), any());
+	}
+
+	@Test
+	void testExportCsv() throws Exception {
+		mockMvc.perform(get("/owners/export").param("format", "CSV"))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"));
+		verify(exporter).export(eq(OwnerExporter.Format.CSV), any());
+	}
+
+	@Test
+	void testExportRejectsUnknownFormat() throws Exception {
+		mockMvc.perform(get("/owners/export").param("format", "xml")).andExpect(status().isBadRequest());
+		verifyNoInteractions(exporter);
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.jdbc.test.autoconfigure.JdbcTest;
+import org.springframework.context.annotation.Import;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link OwnerExporter} against the sample data set.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(OwnerExporter.class)
+class OwnerExporterTests {
+
+	@Autowired
+	private OwnerExporter exporter;
+
+	@Test
+	void shouldExportOneJsonDocumentPerOwner() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		long owners = this.exporter.export(OwnerExporter.Format.NDJSON, out);
+
+		List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+		assertThat(owners).isEqualTo(10);
+		assertThat(lines).hasSize(10);
+
+		JsonMapper mapper = JsonMapper.builder().build();
+		JsonNode george = mapper.readTree(lines.get(0));
+		assertThat(george.get("lastName").asString()).isEqualTo("Franklin");
+		assertThat(george.get("pets")).hasSize(1);
+		assertThat(george.get("pets").get(0).get("type").asString()).isEqualTo("cat");
+
+		JsonNode jean = mapper.readTree(lines.get(5));
+		assertThat(jean.get("lastName").asString()).isEqualTo("Coleman");
+		assertThat(jean.get("pets")).hasSize(2);
+		assertThat(jean.get("pets").get(0).get("visits")).hasSize(2);
+	}
+
+	@Test
+	void shouldExportOneCsvRowPerVisit() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		long owners = this.exporter.export(OwnerExporter.Format.CSV, out);
+
+		List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+		assertThat(owners).isEqualTo(10);
+		// header, plus 13 pets of which two have two visits each
+		assertThat(lines).hasSize(1 + 13 + 2);
+		assertThat(lines.get(0)).startsWith("owner_id,first_name,last_name");
+		assertThat(lines.get(1)).startsWith("1,George,Franklin,110 W. Liberty St.,Madison,6085551023,1,Leo,");
+	}
+
+}
@@ -30,12 +30,17 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
-import org.mockito.ArgumentCaptor;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -75,6 +80,12 @@ class PetControllerTests {
 		cat.setName("hamster");
 		given(this.types.findPetTypes()).willReturn(List.of(cat));
 
+		// a new copy on every call, like the detached owners loaded by the repository
+		given(this.owners.findById(TEST_OWNER_ID)).willAnswer((invocation) -> Optional.of(owner()));
+		given(this.owners.updatePetDetails(any(Pet.class))).willReturn(1);
+	}
+
+	private Owner owner() {
 		Owner owner = new Owner();
 		Pet pet = new Pet();
 		Pet dog = new Pet();
@@ -84,7 +95,7 @@ class PetControllerTests {
 		dog.setId(TEST_PET_ID + 1);
 		pet.setName("petty");
 		dog.setName("doggy");
-		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(owner));
+		return owner;
 	}
 
 	@Test
@@ -107,6 +118,30 @@ class PetControllerTests {
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
 	}
 
+	@Test
+	void testProcessCreationFormAddsPetWithoutMergingOwner() throws Exception {
+		List<Owner> loaded = new ArrayList<>();
+		given(this.owners.findById(TEST_OWNER_ID)).willAnswer((invocation) -> {
+			loaded.add(owner());
+			return Optional.of(loaded.get(loaded.size() - 1));
+		});
+
+		MockMultipartFile emptyFile = new MockMultipartFile("imageFile", new byte[0]);
+		mockMvc
+			.perform(multipart("/owners/{ownerId}/pets/new", TEST_OWNER_ID).file(emptyFile)
+				.param("name", "Betty")
+				.param("type", "hamster")
+				.param("birthDate", "2015-02-12"))
+			.andExpect(status().is3xxRedirection());
+
+		// added to the owner loaded in the transaction, not to the one bound to the form
+		assertThat(loaded).hasSize(2);
+		assertThat(loaded.get(0).getPet("Betty")).isNull();
+		assertThat(loaded.get(1).getPet("Betty")).isNotNull();
+		verify(owners).flush();
+		verify(owners, never()).save(any(Owner.class));
+	}
+
 	@Test
 	void testLoadPetWithVisitOwnerNotFound() throws Exception {
 		int NON_EXISTENT_OWNER_ID = 999;
@@ -262,6 +297,28 @@ class PetControllerTests {
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
 	}
 
+	@Test
+	void testProcessUpdateFormConcurrentUpdate() throws Exception {
+		Pet current = new Pet();
+		current.setVersion(5);
+		given(this.owners.updatePetDetails(any(Pet.class))).willReturn(0);
+		given(this.owners.findPet(TEST_OWNER_ID, TEST_PET_ID)).willReturn(Optional.of(current));
+
+		MockMultipartFile emptyFile = new MockMultipartFile("imageFile", new byte[0]);
+		mockMvc
+			.perform(multipart("/owners/{ownerId}/pets/{petId}/edit", TEST_OWNER_ID, TEST_PET_ID).file(emptyFile)
+				.param("id", String.valueOf(TEST_PET_ID))
+				.param("version", "4")
+				.param("name", "Betty")
+				.param("type", "hamster")
+				.param("birthDate", "2015-02-12"))
+			.andExpect(status().isOk())
+			.andExpect(model().attributeHasErrors("pet"))
+			.andExpect(model().attribute("pet", hasProperty("name", is("Betty"))))
+			.andExpect(model().attribute("pet", hasProperty("version", is(5))))
+			.andExpect(view().name("pets/createOrUpdatePetForm"));
+	}
+
 	@Nested
 	class ProcessUpdateFormHasErrors {
 
@@ -355,6 +412,8 @@ class PetControllerTests {
 				.param("birthDate", "2015-02-12"))
 			.andExpect(status().is3xxRedirection())
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
+
+		verify(owners).updatePetImage(TEST_PET_ID, "test image content".getBytes());
 	}
 
 	@Test
@@ -393,8 +452,8 @@ class PetControllerTests {
 			.andExpect(status().is3xxRedirection())
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
 
-		ArgumentCaptor<Owner> ownerCaptor = ArgumentCaptor.forClass(Owner.class);
-		verify(owners).save(ownerCaptor.capture());
+		verify(owners).flush();
+		verify(owners, never()).save(any(Owner.class));
 	}
 
 	@Test
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for adding a pet to an owner that is detached, because the session is
+ * closed after the owner is loaded for the form.
+ */
+@SpringBootTest(classes = PetClinicApplication.class, properties = "spring.jpa.open-in-view=false")
+@AutoConfigureMockMvc
+class PetFormIntegrationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void shouldAddPetWithoutChangingTheOwner() throws Exception {
+		int version = this.jdbcTemplate.queryForObject("SELECT version FROM owners WHERE id = 3", Integer.class);
+		try {
+			this.mockMvc
+				.perform(multipart("/owners/3/pets/new").file(new MockMultipartFile("imageFile", new byte[0]))
+					.param("name", "Pebble")
+					.param("type", "hamster")
+					.param("birthDate", "2020-02-12"))
+				.andExpect(status().is3xxRedirection());
+
+			assertThat(this.jdbcTemplate
+				.queryForObject("SELECT COUNT(*) FROM pets WHERE owner_id = 3 AND name = 'Pebble'", Integer.class))
+				.isEqualTo(1);
+			assertThat(this.jdbcTemplate.queryForObject("SELECT version FROM owners WHERE id = 3", Integer.class))
+				.isEqualTo(version);
+		}
+		finally {
+			this.jdbcTemplate.update("DELETE FROM pets WHERE name = 'Pebble'");
+		}
+	}
+
+}
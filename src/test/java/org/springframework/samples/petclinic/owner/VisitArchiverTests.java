@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.jdbc.test.autoconfigure.JdbcTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link VisitArchiver} against the sample data set, which has four visits on
+ * the first four days of 2013: two for Samantha (pet 7 of owner 6) and two for Max (pet
+ * 8). The tests do not run in a transaction, so every batch commits as it does in the
+ * application, and the archived visits are moved back after each test.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VisitArchiverTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@AfterEach
+	void restoreVisits() {
+		this.jdbcTemplate.update("""
+				INSERT INTO visits (id, pet_id, visit_date, description, vet_id, start_time, clinic_id)
+				SELECT id, pet_id, visit_date, description, vet_id, start_time, clinic_id FROM visits_archive""");
+		this.jdbcTemplate.update("DELETE FROM visits_archive");
+	}
+
+	@Test
+	void shouldMoveOldVisitsInBatches() {
+		VisitArchiver archiver = archiver(1);
+
+		assertThat(archiver.archiveBefore(LocalDate.of(2013, 1, 3))).isEqualTo(2);
+
+		assertThat(count("visits")).isEqualTo(2);
+		assertThat(this.jdbcTemplate.queryForList("SELECT description FROM visits_archive ORDER BY visit_date",
+				String.class))
+			.containsExactly("rabies shot", "rabies shot");
+	}
+
+	@Test
+	void shouldCommitEachBatchOnItsOwn() {
+		// fails on the copy of the second batch
+		JdbcTemplate failing = new JdbcTemplate(this.dataSource) {
+
+			private int batches;
+
+			@Override
+			public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+				if (++this.batches == 3) {
+					throw new QueryTimeoutException("second batch");
+				}
+				return super.batchUpdate(sql, batchArgs);
+			}
+
+		};
+		VisitArchiver archiver = new VisitArchiver(failing, this.transactionManager, Period.ofYears(2), 1);
+
+		assertThatExceptionOfType(QueryTimeoutException.class)
+			.isThrownBy(() -> archiver.archiveBefore(LocalDate.of(2014, 1, 1)));
+
+		assertThat(count("visits_archive")).isEqualTo(1);
+		assertThat(count("visits")).isEqualTo(3);
+	}
+
+	@Test
+	void shouldNotArchiveRecentVisits() {
+		assertThat(archiver(10).archiveBefore(LocalDate.of(2013, 1, 1))).isZero();
+
+		assertThat(count("visits")).isEqualTo(4);
+		assertThat(count("visits_archive")).isZero();
+	}
+
+	@Test
+	void shouldPageFromRecentVisitsIntoTheArchive() {
+		archiver(10).archiveBefore(LocalDate.of(2013, 1, 4));
+		VisitHistory history = new VisitHistory(this.dataSource, 1);
+
+		VisitHistory.Page first = history.recent(pet(7));
+		assertThat(first.visits()).extracting(Visit::getDescription).containsExactly("spayed");
+		assertThat(first.hasOlder()).isTrue();
+
+		Visit last = first.last();
+		VisitHistory.Page second = history.olderThan(6, 7, last.getDate(), last.getId());
+		assertThat(second.visits()).extracting(Visit::getDescription).containsExactly("rabies shot");
+		assertThat(second.hasOlder()).isFalse();
+	}
+
+	@Test
+	void shouldShowArchivedVisitsOfPetWithoutRecentOnes() {
+		archiver(10).archiveBefore(LocalDate.of(2014, 1, 1));
+
+		VisitHistory.Page page = new VisitHistory(this.dataSource, 5).recent(pet(7));
+
+		assertThat(page.visits()).extracting(Visit::getDescription).containsExactly("spayed", "rabies shot");
+		assertThat(page.hasOlder()).isFalse();
+	}
+
+	@Test
+	void shouldExportAndListArchivedVisits() {
+		archiver(10).archiveBefore(LocalDate.of(2013, 1, 3));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		new OwnerExporter(this.jdbcTemplate, 500).export(OwnerExporter.Format.CSV, out);
+
+		// header, plus 13 pets of which two have two visits each
+		assertThat(out.toString(StandardCharsets.UTF_8).lines()).hasSize(1 + 13 + 2);
+		assertThat(new VisitHistory(this.dataSource, 5).archivedAfter(6, 7, 0, 10))
+			.containsExactly(new VisitDto(1, 7, LocalDate.of(2013, 1, 1), "rabies shot"));
+	}
+
+	private VisitArchiver archiver(int batchSize) {
+		return new VisitArchiver(this.jdbcTemplate, this.transactionManager, Period.ofYears(2), batchSize);
+	}
+
+	private int count(String table) {
+		return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+	}
+
+	private static Pet pet(int id) {
+		Pet pet = new Pet();
+		pet.setId(id);
+		return pet;
+	}
+
+}
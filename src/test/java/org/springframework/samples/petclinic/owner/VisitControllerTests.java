@@ -16,7 +16,12 @@
 
 package org.springframework.samples.petclinic.owner;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
@@ -28,10 +33,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.samples.petclinic.vet.Vet;
+import org.springframework.samples.petclinic.vet.VetCalendar;
+import org.springframework.samples.petclinic.vet.VetRepository;
 import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -43,25 +56,48 @@ import java.util.Optional;
 @WebMvcTest(VisitController.class)
 @DisabledInNativeImage
 @DisabledInAotMode
+@RecordApplicationEvents
 class VisitControllerTests {
 
 	private static final int TEST_OWNER_ID = 1;
 
 	private static final int TEST_PET_ID = 1;
 
+	private static final int TEST_VET_ID = 1;
+
+	private static final LocalDate TEST_DATE = LocalDate.of(2030, 1, 7);
+
 	@Autowired
 	private MockMvc mockMvc;
 
 	@MockitoBean
 	private OwnerRepository owners;
 
+	@MockitoBean
+	private VetRepository vets;
+
+	@MockitoBean
+	private VetCalendar calendar;
+
+	@Autowired
+	private ApplicationEvents events;
+
 	@BeforeEach
 	void init() {
 		Owner owner = new Owner();
+		owner.setId(TEST_OWNER_ID);
 		Pet pet = new Pet();
 		owner.addPet(pet);
 		pet.setId(TEST_PET_ID);
-		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(owner));
+		given(this.owners.findWithVisitsById(TEST_OWNER_ID)).willReturn(Optional.of(owner));
+		given(this.owners.findPet(TEST_OWNER_ID, TEST_PET_ID)).willReturn(Optional.of(pet));
+		Vet vet = new Vet();
+		vet.setId(TEST_VET_ID);
+		vet.setFirstName("James");
+		vet.setLastName("Carter");
+		given(this.vets.findAll()).willReturn(List.of(vet));
+		given(this.calendar.isBookable(TEST_DATE)).willReturn(true);
+		given(this.calendar.isBookable(eq(TEST_DATE), any(LocalTime.class))).willReturn(true);
 	}
 
 	@Test
@@ -81,6 +117,19 @@ class VisitControllerTests {
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
 	}
 
+	@Test
+	void testProcessNewVisitFormAddsVisitToPetOnly() throws Exception {
+		Pet pet = this.owners.findPet(TEST_OWNER_ID, TEST_PET_ID).orElseThrow();
+
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID).param("description",
+					"Visit Description"))
+			.andExpect(status().is3xxRedirection());
+
+		assertThat(pet.getVisits()).extracting(Visit::getDescription).contains("Visit Description");
+		verify(this.owners, never()).save(any(Owner.class));
+	}
+
 	@Test
 	void testProcessNewVisitFormHasErrors() throws Exception {
 		mockMvc
@@ -91,4 +140,127 @@ class VisitControllerTests {
 			.andExpect(view().name("pets/createOrUpdateVisitForm"));
 	}
 
+	@Test
+	void testProcessNewVisitFormPublishesEvent() throws Exception {
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID).param("description",
+					"Visit Description"))
+			.andExpect(status().is3xxRedirection());
+
+		assertThat(this.events.stream(ClinicEvent.class))
+			.containsExactly(new ClinicEvent(ClinicEvent.Type.VISIT_CREATED, TEST_OWNER_ID, TEST_PET_ID));
+	}
+
+	@Test
+	void testProcessNewVisitFormBooksFirstFreeSlotOfVet() throws Exception {
+		Pet pet = this.owners.findPet(TEST_OWNER_ID, TEST_PET_ID).orElseThrow();
+		given(this.calendar.reserveFirstFree(TEST_VET_ID, TEST_DATE)).willReturn(Optional.of(LocalTime.of(9, 30)));
+
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID)
+				.param("description", "Visit Description")
+				.param("date", TEST_DATE.toString())
+				.param("vetId", Integer.toString(TEST_VET_ID)))
+			.andExpect(status().is3xxRedirection());
+
+		assertThat(pet.getVisits()).singleElement().satisfies((visit) -> {
+			assertThat(visit.getVetId()).isEqualTo(TEST_VET_ID);
+			assertThat(visit.getStartTime()).isEqualTo(LocalTime.of(9, 30));
+		});
+	}
+
+	@Test
+	void testProcessNewVisitFormBooksChosenSlot() throws Exception {
+		given(this.calendar.isSlot(LocalTime.of(11, 0))).willReturn(true);
+		given(this.calendar.reserve(TEST_VET_ID, TEST_DATE, LocalTime.of(11, 0))).willReturn(true);
+
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID)
+				.param("description", "Visit Description")
+				.param("date", TEST_DATE.toString())
+				.param("vetId", Integer.toString(TEST_VET_ID))
+				.param("startTime", "11:00"))
+			.andExpect(status().is3xxRedirection());
+
+		verify(this.calendar).reserve(TEST_VET_ID, TEST_DATE, LocalTime.of(11, 0));
+	}
+
+	@Test
+	void testProcessNewVisitFormRejectsBookedSlot() throws Exception {
+		given(this.calendar.isSlot(LocalTime.of(11, 0))).willReturn(true);
+		given(this.calendar.reserve(TEST_VET_ID, TEST_DATE, LocalTime.of(11, 0))).willReturn(false);
+		given(this.calendar.findNextFreeSlot(TEST_VET_ID, TEST_DATE.atTime(11, 0)))
+			.willReturn(Optional.of(TEST_DATE.atTime(11, 30)));
+
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID)
+				.param("description", "Visit Description")
+				.param("date", TEST_DATE.toString())
+				.param("vetId", Integer.toString(TEST_VET_ID))
+				.param("startTime", "11:00"))
+			.andExpect(status().isOk())
+			.andExpect(model().attributeHasFieldErrorCode("visit", "startTime", "slotTaken"))
+			.andExpect(view().name("pets/createOrUpdateVisitForm"));
+
+		verify(this.owners, never()).findPet(TEST_OWNER_ID, TEST_PET_ID);
+	}
+
+	@Test
+	void testProcessNewVisitFormRejectsTimeOutsideSlots() throws Exception {
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID)
+				.param("description", "Visit Description")
+				.param("date", TEST_DATE.toString())
+				.param("vetId", Integer.toString(TEST_VET_ID))
+				.param("startTime", "11:10"))
+			.andExpect(status().isOk())
+			.andExpect(model().attributeHasFieldErrorCode("visit", "startTime", "invalidSlot"));
+
+		verify(this.calendar, never()).reserve(any(Integer.class), any(LocalDate.class), any(LocalTime.class));
+	}
+
+	@Test
+	void testProcessNewVisitFormRejectsSlotThatHasStarted() throws Exception {
+		given(this.calendar.isSlot(LocalTime.of(9, 0))).willReturn(true);
+		given(this.calendar.isBookable(TEST_DATE, LocalTime.of(9, 0))).willReturn(false);
+
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID)
+				.param("description", "Visit Description")
+				.param("date", TEST_DATE.toString())
+				.param("vetId", Integer.toString(TEST_VET_ID))
+				.param("startTime", "09:00"))
+			.andExpect(status().isOk())
+			.andExpect(model().attributeHasFieldErrorCode("visit", "startTime", "slotStarted"));
+
+		verify(this.calendar, never()).reserve(any(Integer.class), any(LocalDate.class), any(LocalTime.class));
+	}
+
+	@Test
+	void testProcessNewVisitFormRejectsDayBeyondHorizon() throws Exception {
+		given(this.calendar.getHorizon()).willReturn(30);
+
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID)
+				.param("description", "Visit Description")
+				.param("date", TEST_DATE.plusYears(3).toString())
+				.param("vetId", Integer.toString(TEST_VET_ID))
+				.param("startTime", "11:00"))
+			.andExpect(status().isOk())
+			.andExpect(model().attributeHasFieldErrorCode("visit", "date", "outsideSchedule"));
+
+		verify(this.calendar, never()).reserve(any(Integer.class), any(LocalDate.class), any(LocalTime.class));
+	}
+
+	@Test
+	void testProcessNewVisitFormRejectsUnknownVet() throws Exception {
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, TEST_PET_ID)
+				.param("description", "Visit Description")
+				.param("date", TEST_DATE.toString())
+				.param("vetId", "99"))
+			.andExpect(status().isOk())
+			.andExpect(model().attributeHasFieldErrorCode("visit", "vetId", "notFound"));
+	}
+
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the visit form, rendered from an owner that is detached because
+ * the session is closed before the view is rendered, and for booking it.
+ */
+@SpringBootTest(classes = PetClinicApplication.class, properties = "spring.jpa.open-in-view=false")
+@AutoConfigureMockMvc
+class VisitFormIntegrationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void shouldRenderVisitFormWithPetTypeAndVisits() throws Exception {
+		// Samantha (pet 7 of owner 6) is a cat with two visits
+		this.mockMvc.perform(get("/owners/6/pets/7/visits/new"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("cat")))
+			.andExpect(content().string(containsString("rabies shot")));
+	}
+
+	@Test
+	void shouldReportSlotBookedThroughAnotherInstance() throws Exception {
+		LocalDate date = LocalDate.now().plusDays(20);
+		this.mockMvc.perform(get("/vets/1/slots").param("date", date.toString()))
+			.andExpect(jsonPath("$.free[2]").value("10:00:00"));
+		// booked through another instance, so this one's calendar does not know about it
+		this.jdbcTemplate.update("INSERT INTO visits (pet_id, visit_date, description, vet_id, start_time) "
+				+ "VALUES (8, ?, 'checkup', 1, ?)", date, LocalTime.of(10, 0));
+		try {
+			this.mockMvc.perform(bookTen(date))
+				.andExpect(status().isOk())
+				.andExpect(model().attributeHasFieldErrorCode("visit", "startTime", "slotTakenMeanwhile"));
+			this.mockMvc.perform(bookTen(date))
+				.andExpect(status().isOk())
+				.andExpect(model().attributeHasFieldErrorCode("visit", "startTime", "slotTaken"));
+
+			assertThat(this.jdbcTemplate
+				.queryForObject("SELECT COUNT(*) FROM visits WHERE vet_id = 1 AND visit_date = ?", Integer.class, date))
+				.isEqualTo(1);
+		}
+		finally {
+			this.jdbcTemplate.update("DELETE FROM visits WHERE vet_id = 1 AND visit_date = ?", date);
+		}
+	}
+
+	private static MockHttpServletRequestBuilder bookTen(LocalDate date) {
+		return post("/owners/6/pets/7/visits/new").param("description", "checkup")
+			.param("date", date.toString())
+			.param("vetId", "1")
+			.param("startTime", "10:00");
+	}
+
+}
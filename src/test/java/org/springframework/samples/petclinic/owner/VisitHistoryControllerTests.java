@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link VisitHistoryController}
+ */
+@WebMvcTest(VisitHistoryController.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class VisitHistoryControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private VisitHistory visitHistory;
+
+	@Test
+	void shouldRenderOlderVisitsWithLinkToTheNextPage() throws Exception {
+		given(this.visitHistory.olderThan(6, 7, LocalDate.of(2013, 1, 4), 4))
+			.willReturn(new VisitHistory.Page(List.of(visit(1, "rabies shot")), true));
+
+		this.mockMvc.perform(get("/owners/6/pets/7/visits").param("before", "2013-01-04").param("beforeId", "4"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("<td>rabies shot</td>")))
+			.andExpect(content().string(containsString("/owners/6/pets/7/visits?before=2013-01-01&amp;beforeId=1")))
+			.andExpect(content().string(not(containsString("<html"))));
+	}
+
+	@Test
+	void shouldOmitLinkOnLastPage() throws Exception {
+		given(this.visitHistory.olderThan(6, 7, LocalDate.of(2013, 1, 4), 4))
+			.willReturn(new VisitHistory.Page(List.of(visit(1, "rabies shot")), false));
+
+		this.mockMvc.perform(get("/owners/6/pets/7/visits").param("before", "2013-01-04").param("beforeId", "4"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(not(containsString("older-visits"))));
+	}
+
+	@Test
+	void shouldRejectRequestWithoutKey() throws Exception {
+		this.mockMvc.perform(get("/owners/6/pets/7/visits")).andExpect(status().isBadRequest());
+	}
+
+	private static Visit visit(int id, String description) {
+		Visit visit = new Visit();
+		visit.setId(id);
+		visit.setDate(LocalDate.of(2013, 1, 1));
+		visit.setDescription(description);
+		return visit;
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.jdbc.test.autoconfigure.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link VisitHistory} against the sample data set, where Samantha (pet 7 of
+ * owner 6) has two visits.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(VisitHistory.class)
+class VisitHistoryTests {
+
+	@Autowired
+	private VisitHistory visitHistory;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@AfterEach
+	void resetRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void shouldLoadRecentVisitsNewestFirst() {
+		VisitHistory.Page page = this.visitHistory.recent(pet(7));
+
+		assertThat(page.visits()).extracting(Visit::getDescription).containsExactly("spayed", "rabies shot");
+		assertThat(page.hasOlder()).isFalse();
+	}
+
+	@Test
+	void shouldPageThroughOlderVisits() {
+		VisitHistory history = new VisitHistory(this.dataSource, 1);
+
+		VisitHistory.Page first = history.recent(pet(7));
+		assertThat(first.visits()).extracting(Visit::getDescription).containsExactly("spayed");
+		assertThat(first.hasOlder()).isTrue();
+
+		Visit last = first.last();
+		VisitHistory.Page second = history.olderThan(6, 7, last.getDate(), last.getId());
+		assertThat(second.visits()).extracting(Visit::getDescription).containsExactly("rabies shot");
+		assertThat(second.hasOlder()).isFalse();
+	}
+
+	@Test
+	void shouldNotLoadVisitsOfAnotherOwnersPet() {
+		Visit last = this.visitHistory.recent(pet(7)).visits().get(0);
+
+		assertThat(this.visitHistory.olderThan(1, 7, last.getDate(), last.getId()).visits()).isEmpty();
+	}
+
+	@Test
+	void shouldFlushRenderedOutputBeforeReadingVisits() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+		response.getWriter().write("<h2>Pets and Visits</h2>");
+
+		this.visitHistory.recent(pet(7));
+
+		assertThat(response.isCommitted()).isTrue();
+	}
+
+	@Test
+	void shouldHaveNoVisitsForNewPet() {
+		VisitHistory.Page page = this.visitHistory.recent(new Pet());
+
+		assertThat(page.visits()).isEmpty();
+		assertThat(page.hasOlder()).isFalse();
+	}
+
+	private static Pet pet(int id) {
+		Pet pet = new Pet();
+		pet.setId(id);
+		return pet;
+	}
+
+}
@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -27,14 +28,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.samples.petclinic.owner.OwnerDto;
 import org.springframework.samples.petclinic.owner.OwnerRepository;
 import org.springframework.samples.petclinic.owner.Pet;
+import org.springframework.samples.petclinic.owner.PetDto;
 import org.springframework.samples.petclinic.owner.PetType;
 import org.springframework.samples.petclinic.owner.PetTypeRepository;
 import org.springframework.samples.petclinic.owner.Visit;
+import org.springframework.samples.petclinic.owner.VisitDto;
 import org.springframework.samples.petclinic.vet.Vet;
 import org.springframework.samples.petclinic.vet.VetRepository;
 import org.springframework.transaction.annotation.Transactional;
@@ -82,6 +88,9 @@ class ClinicServiceTests {
 	@Autowired
 	protected VetRepository vets;
 
+	@Autowired
+	private TestEntityManager entityManager;
+
 	private final Pageable pageable = Pageable.unpaged();
 
 	@Test
@@ -232,6 +241,86 @@ class ClinicServiceTests {
 			.allMatch(value -> value.getId() != null);
 	}
 
+	@Test
+	@Transactional
+	void shouldUpdateOwnerDetailsOnlyIfVersionIsCurrent() {
+		// detached, like the owner bound to the edit form
+		Owner owner = this.owners.findById(1).orElseThrow();
+		this.entityManager.clear();
+		int version = owner.getVersion();
+		owner.setLastName("Frank");
+
+		assertThat(this.owners.updateOwnerDetails(owner)).isEqualTo(1);
+		owner.setLastName("Franco");
+		assertThat(this.owners.updateOwnerDetails(owner)).isZero();
+
+		this.entityManager.clear();
+		owner = this.owners.findById(1).orElseThrow();
+		assertThat(owner.getLastName()).isEqualTo("Frank");
+		assertThat(owner.getVersion()).isEqualTo(version + 1);
+	}
+
+	@Test
+	@Transactional
+	void shouldUpdatePetDetailsWithoutImageOrVisits() {
+		Pet pet = this.owners.findPet(6, 7).orElseThrow();
+		int visits = pet.getVisits().size();
+		this.entityManager.clear();
+		pet.setName("Sam");
+
+		assertThat(this.owners.updatePetDetails(pet)).isEqualTo(1);
+		assertThat(this.owners.updatePetDetails(pet)).isZero();
+
+		this.entityManager.clear();
+		pet = this.owners.findPet(6, 7).orElseThrow();
+		assertThat(pet.getName()).isEqualTo("Sam");
+		assertThat(pet.getVersion()).isEqualTo(1);
+		assertThat(pet.getVisits()).hasSize(visits);
+	}
+
+	@Test
+	@Transactional
+	void shouldChangePetVersionWithItsImage() {
+		// detached, like the pet bound to the edit form
+		Pet pet = this.owners.findPet(6, 7).orElseThrow();
+		this.entityManager.clear();
+
+		this.owners.updatePetImage(7, new byte[] { 1 });
+
+		pet.setName("Sam");
+		assertThat(this.owners.updatePetDetails(pet)).isZero();
+	}
+
+	@Test
+	@Transactional
+	void shouldAddVisitWithoutChangingPetVersion() {
+		Pet pet = this.owners.findPet(6, 7).orElseThrow();
+		Visit visit = new Visit();
+		visit.setDescription("test");
+
+		pet.addVisit(visit);
+		this.owners.flush();
+
+		assertThat(visit.getId()).isNotNull();
+		assertThat(visit.getVersion()).isZero();
+		assertThat(pet.getVersion()).isZero();
+	}
+
+	@Test
+	@Transactional
+	void shouldNotWriteChangesToRenderOnlyOwners() {
+		Owner owner = this.owners.findWithVisitsById(6).orElseThrow();
+		owner.setLastName("Changed");
+		owner.getPets().get(0).setName("Changed");
+
+		this.entityManager.flush();
+		this.entityManager.clear();
+
+		owner = this.owners.findById(6).orElseThrow();
+		assertThat(owner.getLastName()).isEqualTo("Coleman");
+		assertThat(owner.getPets()).extracting(Pet::getName).doesNotContain("Changed");
+	}
+
 	@Test
 	void shouldFindVisitsByPetId() {
 		Optional<Owner> optionalOwner = this.owners.findById(6);
@@ -248,4 +337,34 @@ class ClinicServiceTests {
 			.isNotNull();
 	}
 
+	@Test
+	void shouldCountPetsAndFindUpcomingVisits() {
+		assertThat(this.owners.countPets()).isEqualTo(13);
+
+		assertThat(this.owners.findUpcomingVisits(LocalDate.of(2013, 1, 2), Limit.of(2)))
+			.extracting(Visit::getDescription)
+			.containsExactly("rabies shot", "neutered");
+		assertThat(this.owners.findUpcomingVisits(LocalDate.of(2013, 1, 5), Limit.of(2))).isEmpty();
+	}
+
+	@Test
+	void shouldFindOwnerDtosAfterKey() {
+		List<OwnerDto> first = this.owners.findOwnerDtos("Davis", 0, Limit.of(1));
+		assertThat(first).extracting(OwnerDto::firstName).containsExactly("Betty");
+
+		List<OwnerDto> next = this.owners.findOwnerDtos("Davis", first.get(0).id(), Limit.of(1));
+		assertThat(next).extracting(OwnerDto::firstName).containsExactly("Harold");
+		assertThat(this.owners.findOwnerDtos("Davis", next.get(0).id(), Limit.of(1))).isEmpty();
+	}
+
+	@Test
+	void shouldFindPetAndVisitDtosOfOwner() {
+		assertThat(this.owners.findPetDtos(6)).extracting(PetDto::name).containsExactly("Samantha", "Max");
+		assertThat(this.owners.findPetDtos(6).get(0).type()).isEqualTo("cat");
+
+		assertThat(this.owners.findVisitDtos(6, 7, 0, Limit.of(10))).extracting(VisitDto::description)
+			.containsExactly("rabies shot", "spayed");
+		assertThat(this.owners.findVisitDtos(1, 7, 0, Limit.of(10))).isEmpty();
+	}
+
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.jdbc.test.autoconfigure.JdbcTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.system.ClinicDataGenerator.Summary;
+import org.springframework.samples.petclinic.system.ClinicDataWriter.Dialect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClinicDataGenerator} and its writers, on top of the sample data set.
+ * Restarting the identity columns is DDL and commits, so assertions are relative to the
+ * row counts before generating.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+// not the nested application of CrashControllerIntegrationTests
+@ContextConfiguration(classes = PetClinicApplication.class)
+class ClinicDataGeneratorTests {
+
+	private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 1, 1);
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void shouldInsertGeneratedClinicWithJdbc() {
+		int owners = count("owners");
+		int pets = count("pets");
+		int visits = count("visits");
+
+		Summary summary = new ClinicDataGenerator(42, REFERENCE_DATE, 100).generate(250, 2, 3,
+				new JdbcClinicDataWriter(this.jdbcTemplate));
+
+		assertThat(summary.owners()).isEqualTo(250);
+		assertThat(summary.vets()).isEqualTo(2);
+		assertThat(count("owners")).isEqualTo(owners + 250);
+		assertThat(count("pets")).isEqualTo(pets + summary.pets());
+		assertThat(count("visits")).isEqualTo(visits + summary.visits());
+		assertThat(summary.pets()).isBetween(250, 750);
+		assertThat(this.jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM pets p LEFT JOIN owners o ON o.id = p.owner_id WHERE o.id IS NULL",
+				Integer.class))
+			.isZero();
+
+		// new rows continue after the generated ids
+		this.jdbcTemplate.update("INSERT INTO owners (first_name, last_name, address, city, telephone) "
+				+ "VALUES ('Jane', 'Doe', '1 Main St.', 'Madison', '6085550000')");
+		assertThat(this.jdbcTemplate.queryForObject("SELECT MAX(id) FROM owners", Integer.class))
+			.isEqualTo(owners + 251);
+	}
+
+	@Test
+	void shouldGenerateTheSameScriptForTheSameSeed() {
+		assertThat(script(7, Dialect.POSTGRES)).isEqualTo(script(7, Dialect.POSTGRES))
+			.isNotEqualTo(script(8, Dialect.POSTGRES));
+		assertThat(script(7, Dialect.MYSQL)).contains("ALTER TABLE owners AUTO_INCREMENT = ");
+	}
+
+	@Test
+	void shouldLoadGeneratedScript() {
+		int owners = count("owners");
+		int visits = count("visits");
+		StringWriter out = new StringWriter();
+		Summary summary = new ClinicDataGenerator(42, REFERENCE_DATE, 100).generate(120, 2, 2,
+				new SqlScriptClinicDataWriter(out, Dialect.H2, 1000));
+
+		new ResourceDatabasePopulator(new ByteArrayResource(out.toString().getBytes(StandardCharsets.UTF_8)))
+			.execute(this.jdbcTemplate.getDataSource());
+
+		assertThat(count("owners")).isEqualTo(owners + 120);
+		assertThat(count("visits")).isEqualTo(visits + summary.visits());
+		assertThat(this.jdbcTemplate.queryForObject("SELECT MIN(id) FROM owners WHERE id >= 1000", Integer.class))
+			.isEqualTo(1000);
+	}
+
+	private String script(long seed, Dialect dialect) {
+		StringWriter out = new StringWriter();
+		new ClinicDataGenerator(seed, REFERENCE_DATE, 100).generate(150, 2, 2,
+				new SqlScriptClinicDataWriter(out, dialect, 1000));
+		return out.toString();
+	}
+
+	private int count(String table) {
+		return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+	}
+
+}
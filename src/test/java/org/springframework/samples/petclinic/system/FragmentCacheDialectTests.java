@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.system.FragmentCacheDialect.FragmentKey;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for {@link FragmentCacheDialect}.
+ */
+@SpringBootTest(classes = PetClinicApplication.class)
+@AutoConfigureMockMvc
+class FragmentCacheDialectTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Test
+	void shouldRenderAndCacheFragmentsPerLocale() throws Exception {
+		this.mockMvc.perform(get("/vets.html"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("James Carter")))
+			.andExpect(content().string(containsString("Find Owners")));
+		this.mockMvc.perform(get("/vets.html").param("lang", "de"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("Besitzer suchen")));
+
+		assertThat(fragments().get(navbar(Locale.ENGLISH))).isNotNull();
+		assertThat(fragments().get(navbar(Locale.GERMAN))).isNotNull();
+	}
+
+	@Test
+	void shouldServeCachedHtml() throws Exception {
+		Locale locale = Locale.forLanguageTag("tr");
+		fragments().put(navbar(locale), "<nav>cached navbar</nav>");
+		try {
+			this.mockMvc.perform(get("/vets.html").param("lang", "tr"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("<nav>cached navbar</nav>")));
+		}
+		finally {
+			fragments().evict(navbar(locale));
+		}
+	}
+
+	@Test
+	void shouldCacheUnsupportedLocalesUnderTheDefault() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			this.mockMvc.perform(get("/vets.html").param("lang", "zz" + i))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Find Owners")));
+		}
+
+		assertThat(fragments().get(navbar(Locale.ENGLISH))).isNotNull();
+		assertThat(fragments().get(navbar(Locale.forLanguageTag("zz0")))).isNull();
+		assertThat(((com.github.benmanes.caffeine.cache.Cache<?, ?>) fragments().getNativeCache()).policy().eviction())
+			.as("size limit")
+			.isPresent();
+	}
+
+	private Cache fragments() {
+		return this.cacheManager.getCache(FragmentCacheDialect.CACHE_NAME);
+	}
+
+	private static FragmentKey navbar(Locale locale) {
+		return new FragmentKey("fragments/navbar", "navbar", locale, "vets");
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InstrumentedDataSource}.
+ */
+class InstrumentedDataSourceTests {
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		this.database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		this.jdbcTemplate = new JdbcTemplate(new InstrumentedDataSource(this.database));
+		this.jdbcTemplate.execute("CREATE TABLE images (id INTEGER, data BLOB)");
+		this.jdbcTemplate.update("INSERT INTO images VALUES (?, ?)", 1, new byte[3]);
+		this.jdbcTemplate.update("INSERT INTO images VALUES (?, ?)", 2, new byte[5]);
+	}
+
+	@AfterEach
+	void tearDown() {
+		JdbcStatistics.stop();
+		this.database.shutdown();
+	}
+
+	@Test
+	void shouldCountStatementsRowsAndBlobBytes() {
+		JdbcStatistics statistics = JdbcStatistics.start();
+
+		this.jdbcTemplate.query("SELECT data FROM images ORDER BY id", (rs) -> {
+			rs.getBytes(1);
+		});
+		this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM images", Integer.class);
+
+		assertThat(statistics.getStatements()).isEqualTo(2);
+		assertThat(statistics.getRows()).isEqualTo(3);
+		assertThat(statistics.getBlobBytes()).isEqualTo(8);
+	}
+
+	@Test
+	void shouldOnlyCountWhileStarted() {
+		this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM images", Integer.class);
+		JdbcStatistics statistics = JdbcStatistics.start();
+		JdbcStatistics.stop();
+		this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM images", Integer.class);
+
+		assertThat(JdbcStatistics.current()).isNull();
+		assertThat(statistics.getStatements()).isZero();
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link PerformanceEndpoint}.
+ */
+@SpringBootTest(classes = PetClinicApplication.class, webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({ "perf", "replica" })
+class PerformanceEndpointTests {
+
+	@LocalServerPort
+	int port;
+
+	@Autowired
+	private RestTemplateBuilder builder;
+
+	@Test
+	void shouldAggregateCachePoolAndHibernateStatistics() {
+		RestTemplate template = this.builder.rootUri("http://localhost:" + this.port).build();
+		template.getForObject("/vets", String.class);
+		template.getForObject("/vets", String.class);
+		template.getForObject("/owners?lastName=Davis", String.class);
+
+		JsonNode report = JsonMapper.builder()
+			.build()
+			.readTree(template.getForObject("/actuator/petclinic-perf", String.class));
+
+		JsonNode vets = report.get("caches").get("vets");
+		assertThat(vets.get("hits").asLong()).isPositive();
+		assertThat(vets.get("gets").asLong()).isGreaterThanOrEqualTo(2);
+
+		JsonNode pools = report.get("pools");
+		assertThat(pools).hasSize(2);
+		assertThat(pools.get(0).get("name").asString()).isEqualTo("petclinic");
+		assertThat(pools.get(1).get("name").asString()).isEqualTo("petclinic-replica");
+		for (JsonNode pool : pools) {
+			assertThat(pool.get("maximumSize").asInt()).isPositive();
+			assertThat(pool.get("acquireCount").asLong()).isPositive();
+		}
+
+		JsonNode hibernate = report.get("hibernate");
+		assertThat(hibernate.get("enabled").asBoolean()).isTrue();
+		assertThat(hibernate.get("entityLoadsByEntity").get("Owner").asLong()).isPositive();
+		assertThat(hibernate.get("collectionLoadsByRole").get("Owner.pets").asLong()).isPositive();
+		assertThat(hibernate.get("topQueries")).isNotEmpty();
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link ReplicaDataSourceConfiguration}, with a second in-memory
+ * H2 database as the replica.
+ */
+@SpringBootTest(classes = PetClinicApplication.class,
+		properties = { "petclinic.datasource.replica.url=jdbc:h2:mem:replica-tests;DB_CLOSE_DELAY=-1",
+				"petclinic.datasource.replica.username=sa", "petclinic.datasource.replica.initialize=true",
+				"spring.datasource.generate-unique-name=true" })
+@DirtiesContext
+class ReplicaDataSourceConfigurationTests {
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primary;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replica;
+
+	@Test
+	void shouldReadOwnersToRenderFromReplica() {
+		new JdbcTemplate(this.replica).update("UPDATE owners SET last_name = 'Replicated' WHERE id = 1");
+
+		assertThat(this.owners.findReadOnlyById(1).orElseThrow().getLastName()).isEqualTo("Replicated");
+	}
+
+	@Test
+	void shouldReadOwnersToChangeFromPrimaryAndWriteToPrimary() {
+		String current = lastName(this.primary);
+		new JdbcTemplate(this.replica).update("UPDATE owners SET last_name = 'Lagging' WHERE id = 1");
+
+		Owner owner = this.owners.findById(1).orElseThrow();
+		assertThat(owner.getLastName()).isEqualTo(current);
+
+		owner.setLastName("Written");
+		this.owners.save(owner);
+
+		assertThat(lastName(this.primary)).isEqualTo("Written");
+		assertThat(lastName(this.replica)).isEqualTo("Lagging");
+	}
+
+	private static String lastName(DataSource dataSource) {
+		return new JdbcTemplate(dataSource).queryForObject("SELECT last_name FROM owners WHERE id = 1", String.class);
+	}
+
+}
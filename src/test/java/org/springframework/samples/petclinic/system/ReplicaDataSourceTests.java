@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ReplicaDataSource}, with two embedded H2 databases standing in for the
+ * primary and the replica.
+ */
+class ReplicaDataSourceTests {
+
+	private EmbeddedDatabase primary;
+
+	private EmbeddedDatabase replica;
+
+	@BeforeEach
+	void setUp() {
+		this.primary = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+		this.replica = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.primary.shutdown();
+		this.replica.shutdown();
+	}
+
+	@Test
+	void shouldReadFromReplicaWithinTolerance() throws SQLException {
+		ReplicaDataSource dataSource = dataSource("SELECT 1", true);
+
+		assertThat(catalog(dataSource)).isEqualTo(catalog(this.replica));
+		assertThat(dataSource.isReplicaUsable()).isTrue();
+		assertThat(dataSource.getLag()).isEqualTo(Duration.ofSeconds(1));
+	}
+
+	@Test
+	void shouldFallBackToPrimaryWhenLagging() throws SQLException {
+		ReplicaDataSource dataSource = dataSource("SELECT 60", true);
+
+		assertThat(catalog(dataSource)).isEqualTo(catalog(this.primary));
+		assertThat(dataSource.isReplicaUsable()).isFalse();
+	}
+
+	@Test
+	void shouldFallBackToPrimaryWhenUnreachable() throws SQLException {
+		ReplicaDataSource dataSource = new ReplicaDataSource(
+				new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/replica"), this.primary, null,
+				Duration.ofSeconds(5), Duration.ofMinutes(1), true);
+
+		assertThat(catalog(dataSource)).isEqualTo(catalog(this.primary));
+		assertThat(dataSource.isReplicaUsable()).isFalse();
+	}
+
+	@Test
+	void shouldFailWhenLaggingWithoutFallback() {
+		ReplicaDataSource dataSource = dataSource("SELECT 60", false);
+
+		assertThatExceptionOfType(SQLException.class).isThrownBy(dataSource::getConnection)
+			.withMessageContaining("fallback to the primary is disabled");
+	}
+
+	@Test
+	void shouldPassCredentialsToTheChosenPool() throws SQLException {
+		ReplicaDataSource dataSource = dataSource("SELECT 1", true);
+
+		try (Connection connection = dataSource.getConnection("sa", "")) {
+			assertThat(connection.getCatalog()).isEqualTo(catalog(this.replica));
+		}
+	}
+
+	private ReplicaDataSource dataSource(String lagQuery, boolean fallback) {
+		return new ReplicaDataSource(this.replica, this.primary, lagQuery, Duration.ofSeconds(5), Duration.ofMinutes(1),
+				fallback);
+	}
+
+	private static String catalog(DataSource dataSource) throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			return connection.getCatalog();
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.method.HandlerMethod;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link RequestDiagnostics} and the {@link DiagnosticsEndpoint}.
+ */
+@SpringBootTest(classes = PetClinicApplication.class, webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = { "petclinic.diagnostics.enabled=true", "petclinic.diagnostics.slow-request-threshold=1h",
+				"petclinic.diagnostics.statement-threshold=1000",
+				"petclinic.diagnostics.repeated-statement-threshold=3" })
+class RequestDiagnosticsTests {
+
+	@LocalServerPort
+	int port;
+
+	@Autowired
+	private RestTemplateBuilder builder;
+
+	private RestTemplate template;
+
+	@BeforeEach
+	void setUp() {
+		this.template = this.builder.rootUri("http://localhost:" + this.port).build();
+		this.template.delete("/actuator/diagnostics");
+	}
+
+	@Test
+	void shouldFlagRepeatedStatements() {
+		// the home page loads the pets and visits of every owner one by one
+		this.template.getForObject("/", String.class);
+
+		JsonNode flagged = report().get("flaggedRequests");
+		assertThat(flagged).hasSize(1);
+		JsonNode request = flagged.get(0);
+		assertThat(request.get("endpoint").asString()).isEqualTo("WelcomeController.welcome");
+		assertThat(request.get("reasons").get(0).asString()).isEqualTo("repeated-statements");
+		assertThat(request.get("statements").get(0).get("count").asInt()).isGreaterThanOrEqualTo(3);
+		assertThat(request.get("statements").get(0).get("sql").asString()).startsWith("select");
+	}
+
+	@Test
+	void shouldNotFlagRequestsWithinThresholds() {
+		this.template.getForObject("/owners/find", String.class);
+
+		assertThat(report().get("flaggedRequests")).isEmpty();
+		assertThat(report().get("thresholds").get("repeatedStatements").asInt()).isEqualTo(3);
+	}
+
+	private JsonNode report() {
+		return JsonMapper.builder().build().readTree(this.template.getForObject("/actuator/diagnostics", String.class));
+	}
+
+	@Test
+	void shouldNotTraceStatementsOfTheNextRequestAfterAsyncHandlingStarts() throws Exception {
+		RequestDiagnostics diagnostics = new RequestDiagnostics(
+				new RequestDiagnostics.Thresholds(Duration.ofHours(1), 1, 1), 10);
+		HandlerMethod handler = new HandlerMethod(this, RequestDiagnosticsTests.class
+			.getDeclaredMethod("shouldNotTraceStatementsOfTheNextRequestAfterAsyncHandlingStarts"));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		diagnostics.preHandle(request, response, handler);
+		diagnostics.afterConcurrentHandlingStarted(request, response, handler);
+		// another request served on the released thread
+		diagnostics.inspect("select * from owners");
+		diagnostics.afterCompletion(request, response, handler, null);
+
+		assertThat(diagnostics.getFlaggedRequests()).isEmpty();
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.method.HandlerMethod;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link RequestMetricsInterceptor} and the JDBC statistics it
+ * records per endpoint.
+ */
+@SpringBootTest(classes = PetClinicApplication.class, webEnvironment = WebEnvironment.RANDOM_PORT)
+class RequestMetricsInterceptorTests {
+
+	@LocalServerPort
+	int port;
+
+	@Autowired
+	private RestTemplateBuilder builder;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Test
+	void shouldRecordLatencyAndJdbcWorkPerEndpoint() {
+		RestTemplate template = this.builder.rootUri("http://localhost:" + this.port).build();
+		// the application context, and so the registry, is shared with other tests
+		template.getForObject("/owners/1", String.class);
+		Timer timer = this.registry.get("petclinic.requests").tag("endpoint", "OwnerController.showOwner").timer();
+		long count = timer.count();
+		template.getForObject("/owners/1", String.class);
+
+		assertThat(timer.count()).isEqualTo(count + 1);
+		DistributionSummary statements = this.registry.get("petclinic.requests.jdbc.statements")
+			.tag("endpoint", "OwnerController.showOwner")
+			.summary();
+		assertThat(statements.count()).isEqualTo(count + 1);
+		assertThat(statements.totalAmount()).isPositive();
+		assertThat(this.registry.get("petclinic.requests.jdbc.rows")
+			.tag("endpoint", "OwnerController.showOwner")
+			.summary()
+			.totalAmount()).isPositive();
+	}
+
+	@Test
+	void shouldTagStatusAndException() {
+		RestTemplate template = this.builder.rootUri("http://localhost:" + this.port).build();
+		template.getForObject("/vets.html", String.class);
+
+		assertThat(this.registry.get("petclinic.requests")
+			.tags("endpoint", "VetController.showVetList", "status", "200", "exception", "none")
+			.timer()
+			.count()).isPositive();
+	}
+
+	@Test
+	void shouldStopCountingWhenAsyncHandlingStarts() throws Exception {
+		RequestMetricsInterceptor interceptor = new RequestMetricsInterceptor(new SimpleMeterRegistry());
+		HandlerMethod handler = new HandlerMethod(this,
+				RequestMetricsInterceptorTests.class.getDeclaredMethod("shouldStopCountingWhenAsyncHandlingStarts"));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		interceptor.preHandle(request, response, handler);
+		assertThat(JdbcStatistics.current()).isNotNull();
+		interceptor.afterConcurrentHandlingStarted(request, response, handler);
+
+		assertThat(JdbcStatistics.current()).isNull();
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SqlFingerprint}.
+ */
+class SqlFingerprintTests {
+
+	@Test
+	void shouldReplaceLiterals() {
+		assertThat(SqlFingerprint.of("select * from owners where last_name = 'O''Brien' and id > 10"))
+			.isEqualTo("select * from owners where last_name = ? and id > ?");
+	}
+
+	@Test
+	void shouldKeepIdentifiersWithDigits() {
+		assertThat(SqlFingerprint.of("select p1_0.id from pets p1_0 where p1_0.owner_id=?"))
+			.isEqualTo("select p1_0.id from pets p1_0 where p1_0.owner_id=?");
+	}
+
+	@Test
+	void shouldCollapseInListsAndWhitespace() {
+		assertThat(SqlFingerprint.of("select *\n  from visits\twhere pet_id in (?, ?,?)"))
+			.isEqualTo("select * from visits where pet_id in (?)");
+		assertThat(SqlFingerprint.of("select * from visits where pet_id IN (1, 2, 3)"))
+			.isEqualTo("select * from visits where pet_id in (?)");
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the static resource handling of {@link WebConfiguration}.
+ */
+@SpringBootTest(classes = PetClinicApplication.class)
+@AutoConfigureMockMvc
+class WebConfigurationTests {
+
+	private static final Pattern STYLESHEET = Pattern.compile("/resources/css/petclinic-[0-9a-f]{32}\\.css");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void shouldLinkContentHashedStylesheet() throws Exception {
+		String stylesheet = stylesheet();
+
+		this.mockMvc.perform(get(stylesheet))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+	}
+
+	@Test
+	void shouldRewriteFontLinksInStylesheet() throws Exception {
+		String css = this.mockMvc.perform(get(stylesheet())).andReturn().getResponse().getContentAsString();
+
+		assertThat(css).containsPattern("montserrat-webfont-[0-9a-f]{32}\\.woff");
+	}
+
+	@Test
+	void shouldServePrecompressedVariant() throws Exception {
+		assumeTrue(new ClassPathResource("static/resources/css/petclinic.css.gz").exists(),
+				"pre-compressed variants are written by the build");
+
+		this.mockMvc.perform(get(stylesheet()).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+			.andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)));
+	}
+
+	private String stylesheet() throws Exception {
+		String page = this.mockMvc.perform(get("/")).andReturn().getResponse().getContentAsString();
+		Matcher matcher = STYLESHEET.matcher(page);
+		assertThat(matcher.find()).as("versioned stylesheet link").isTrue();
+		return matcher.group();
+	}
+
+}
@@ -5,9 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.data.domain.Limit;
 import org.springframework.samples.petclinic.owner.OwnerRepository;
-import org.springframework.samples.petclinic.owner.Pet;
 import org.springframework.samples.petclinic.owner.Visit;
 import org.springframework.samples.petclinic.vet.Vet;
 import org.springframework.samples.petclinic.vet.VetRepository;
@@ -21,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,16 +46,12 @@ class WelcomeControllerTests {
 	void shouldAddAttributesToModel() {
 		given(vetRepository.findAll()).willReturn(List.of(new Vet(), new Vet()));
 		given(ownerRepository.count()).willReturn(5L);
+		given(ownerRepository.countPets()).willReturn(1L);
 
-		Owner owner = new Owner();
-		Pet pet = new Pet();
 		Visit futureVisit = new Visit();
 		futureVisit.setDate(LocalDate.now().plusDays(5));
 		futureVisit.setDescription("Checkup");
-		pet.addVisit(futureVisit);
-		owner.addPet(pet);
-
-		given(ownerRepository.findAll()).willReturn(List.of(owner));
+		given(ownerRepository.findUpcomingVisits(LocalDate.now(), Limit.of(5))).willReturn(List.of(futureVisit));
 
 		String viewName = welcomeController.welcome(model);
 
@@ -64,14 +60,27 @@ class WelcomeControllerTests {
 		verify(model).addAttribute("totalVets", 2L);
 		verify(model).addAttribute("totalOwners", 5L);
 		verify(model).addAttribute("totalPets", 1L);
-		verify(model).addAttribute(eq("upcomingVisits"), any(List.class));
+		verify(model).addAttribute("upcomingVisits", List.of(futureVisit));
+	}
+
+	@Test
+	void shouldRenderOnlyTheDashboard() {
+		given(vetRepository.findAll()).willReturn(List.of(new Vet()));
+		given(ownerRepository.count()).willReturn(1L);
+
+		String viewName = welcomeController.dashboard(model);
+
+		assertThat(viewName).isEqualTo("welcome :: dashboard");
+		verify(model).addAttribute("totalVets", 1L);
+		verify(model).addAttribute("totalOwners", 1L);
 	}
 
 	@Test
 	void shouldHandleEmptyData() {
 		given(vetRepository.findAll()).willReturn(Collections.emptyList());
 		given(ownerRepository.count()).willReturn(0L);
-		given(ownerRepository.findAll()).willReturn(Collections.emptyList());
+		given(ownerRepository.findUpcomingVisits(any(LocalDate.class), any(Limit.class)))
+			.willReturn(Collections.emptyList());
 
 		welcomeController.welcome(model);
 
@@ -82,21 +91,12 @@ class WelcomeControllerTests {
 	}
 
 	@Test
-	void shouldHandleNullOwners() {
+	void shouldNotLoadOwnersPetsOrVisits() {
 		given(vetRepository.findAll()).willReturn(Collections.emptyList());
-		given(ownerRepository.count()).willReturn(0L);
 
-		given(ownerRepository.findAll()).willReturn(null);
-
-		String viewName = welcomeController.welcome(model);
-
-		assertThat(viewName).isEqualTo("welcome");
-
-		verify(model).addAttribute("totalVets", 0L);
-		verify(model).addAttribute("totalOwners", 0L);
+		welcomeController.welcome(model);
 
-		verify(model).addAttribute("totalPets", 0L);
-		verify(model).addAttribute(eq("upcomingVisits"), eq(Collections.emptyList()));
+		verify(ownerRepository, never()).findAll();
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link VetApiController}
+ */
+@WebMvcTest(VetApiController.class)
+@Import(VetIndex.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class VetApiControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private VetRepository vets;
+
+	@BeforeEach
+	void setup() {
+		given(this.vets.findAll()).willReturn(List.of(vet(1, "James", "Carter"), vet(2, "Helen", "Leary", "radiology"),
+				vet(3, "Linda", "Douglas", "surgery", "dentistry"), vet(4, "Henry", "Stevens", "radiology")));
+	}
+
+	@Test
+	void testListVetsBySpecialty() throws Exception {
+		this.mockMvc.perform(get("/api/v1/vets").param("specialty", "radiology"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.items.length()").value(2))
+			.andExpect(jsonPath("$.items[0].lastName").value("Leary"))
+			.andExpect(jsonPath("$.items[0].specialties[0]").value("radiology"))
+			.andExpect(jsonPath("$.next").value(nullValue()));
+	}
+
+	@Test
+	void testListVetsByAllSpecialtiesAndName() throws Exception {
+		this.mockMvc.perform(get("/api/v1/vets").param("specialty", "surgery", "dentistry").param("name", "doug"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.items.length()").value(1))
+			.andExpect(jsonPath("$.items[0].id").value(3));
+	}
+
+	@Test
+	void testListVetsPagedByKey() throws Exception {
+		this.mockMvc.perform(get("/api/v1/vets").param("size", "2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.items.length()").value(2))
+			.andExpect(jsonPath("$.next").value(2))
+			.andExpect(header().string(HttpHeaders.LINK, containsString("after=2")));
+		this.mockMvc.perform(get("/api/v1/vets").param("size", "2").param("after", "2"))
+			.andExpect(jsonPath("$.items[0].id").value(3))
+			.andExpect(jsonPath("$.next").value(nullValue()));
+	}
+
+	@Test
+	void testListVetsRejectsInvalidSize() throws Exception {
+		this.mockMvc.perform(get("/api/v1/vets").param("size", "0")).andExpect(status().isBadRequest());
+	}
+
+	private static Vet vet(int id, String firstName, String lastName, String... specialties) {
+		Vet vet = new Vet();
+		vet.setId(id);
+		vet.setFirstName(firstName);
+		vet.setLastName(lastName);
+		for (String name : specialties) {
+			Specialty specialty = new Specialty();
+			specialty.setName(name);
+			vet.addSpecialty(specialty);
+		}
+		return vet;
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * Integration tests for serving changed vets once the {@code vets} cache entries have
+ * expired, which happens a fixed time after they were written.
+ */
+@SpringBootTest(classes = PetClinicApplication.class)
+@AutoConfigureMockMvc
+class VetCacheIntegrationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@AfterEach
+	void restoreVet() {
+		this.jdbcTemplate.update("UPDATE vets SET last_name = 'Carter' WHERE id = 1");
+		this.cacheManager.getCache("vets").clear();
+	}
+
+	@Test
+	void shouldExpireVetsAfterWriteRatherThanAfterAccess() {
+		CaffeineCache vets = (CaffeineCache) this.cacheManager.getCache("vets");
+
+		assertThat(vets.getNativeCache().policy().expireAfterWrite())
+			.hasValueSatisfying((expiry) -> assertThat(expiry.getExpiresAfter(TimeUnit.MINUTES)).isEqualTo(10));
+		assertThat(vets.getNativeCache().policy().expireAfterAccess()).isEmpty();
+	}
+
+	@Test
+	void shouldServeChangedVetOnceCachedVetsHaveExpired() throws Exception {
+		String etag = etag();
+		this.mockMvc.perform(get("/api/v1/vets").param("name", "Cart"))
+			.andExpect(jsonPath("$.items.length()").value(1));
+
+		this.jdbcTemplate.update("UPDATE vets SET last_name = 'Cartwright' WHERE id = 1");
+		assertThat(etag()).isEqualTo(etag);
+
+		// what expiry does
+		this.cacheManager.getCache("vets").clear();
+
+		assertThat(etag()).isNotEqualTo(etag);
+		this.mockMvc.perform(get("/api/v1/vets").param("name", "Cartw"))
+			.andExpect(jsonPath("$.items[0].lastName").value("Cartwright"));
+	}
+
+	private String etag() throws Exception {
+		return this.mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON))
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+	}
+
+}
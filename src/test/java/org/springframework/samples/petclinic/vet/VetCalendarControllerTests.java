@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link VetCalendarController}
+ */
+@WebMvcTest(VetCalendarController.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class VetCalendarControllerTests {
+
+	private static final LocalDate DATE = LocalDate.now().plusDays(7);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private VetRepository vets;
+
+	@MockitoBean
+	private VetCalendar calendar;
+
+	@BeforeEach
+	void setup() {
+		Vet vet = new Vet();
+		vet.setId(1);
+		given(this.vets.findAll()).willReturn(List.of(vet));
+		given(this.calendar.isBookable(any())).willReturn(true);
+	}
+
+	@Test
+	void testShowSlots() throws Exception {
+		given(this.calendar.getFreeSlots(1, DATE)).willReturn(List.of(LocalTime.of(9, 30), LocalTime.of(10, 0)));
+		given(this.calendar.findNextFreeSlot(eq(1), any())).willReturn(Optional.of(DATE.atTime(9, 30)));
+
+		this.mockMvc.perform(get("/vets/{vetId}/slots", 1).param("date", DATE.toString()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.vetId").value(1))
+			.andExpect(jsonPath("$.date").value(DATE.toString()))
+			.andExpect(jsonPath("$.free[0]").value("09:30:00"))
+			.andExpect(jsonPath("$.next").value(DATE + "T09:30:00"));
+	}
+
+	@Test
+	void testShowSlotsBeyondHorizon() throws Exception {
+		LocalDate later = DATE.plusYears(3);
+		given(this.calendar.isBookable(later)).willReturn(false);
+
+		this.mockMvc.perform(get("/vets/{vetId}/slots", 1).param("date", later.toString()))
+			.andExpect(status().isBadRequest());
+
+		verify(this.calendar, never()).getFreeSlots(1, later);
+	}
+
+	@Test
+	void testShowSlotsOfUnknownVet() throws Exception {
+		this.mockMvc.perform(get("/vets/{vetId}/slots", 99)).andExpect(status().isNotFound());
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.jdbc.test.autoconfigure.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link VetCalendar}. The calendar keeps the days it has loaded, so every test
+ * uses a day of its own.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(VetCalendar.class)
+class VetCalendarTests {
+
+	private static final LocalTime NINE = LocalTime.of(9, 0);
+
+	@Autowired
+	private VetCalendar calendar;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void shouldSplitDayIntoSlots() {
+		assertThat(this.calendar.getSlots()).hasSize(16).startsWith(NINE).endsWith(LocalTime.of(16, 30));
+		assertThat(this.calendar.isSlot(LocalTime.of(10, 30))).isTrue();
+		assertThat(this.calendar.isSlot(LocalTime.of(10, 15))).isFalse();
+		assertThat(this.calendar.isSlot(LocalTime.of(8, 30))).isFalse();
+		assertThat(this.calendar.isSlot(LocalTime.of(17, 0))).isFalse();
+	}
+
+	@Test
+	void shouldOnlyBookDaysWithinHorizon() {
+		LocalDate today = LocalDate.now();
+
+		assertThat(this.calendar.isBookable(today)).isTrue();
+		assertThat(this.calendar.isBookable(today.plusDays(30))).isTrue();
+		assertThat(this.calendar.isBookable(today.plusDays(31))).isFalse();
+		assertThat(this.calendar.isBookable(today.minusDays(1))).isFalse();
+		assertThatIllegalArgumentException().isThrownBy(() -> this.calendar.getFreeSlots(1, today.plusYears(3)));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.calendar.reserve(1, today.minusDays(1), NINE));
+		assertThat(this.calendar.findNextFreeSlot(1, today.plusDays(31).atTime(NINE))).isEmpty();
+	}
+
+	@Test
+	void shouldNotBookSlotsThatHaveStartedToday() {
+		// a calendar of its own, whose today is a day no other test uses, at noon
+		LocalDate today = LocalDate.now().plusDays(5);
+		VetCalendar calendar = new VetCalendar(this.jdbcTemplate, NINE, LocalTime.of(17, 0), Duration.ofMinutes(30), 30,
+				4);
+		calendar.setClock(
+				Clock.fixed(today.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+
+		assertThat(calendar.isBookable(today, LocalTime.of(11, 30))).isFalse();
+		assertThat(calendar.isBookable(today, LocalTime.of(12, 0))).isTrue();
+		assertThat(calendar.isBookable(today.plusDays(1), NINE)).isTrue();
+		assertThatIllegalArgumentException().isThrownBy(() -> calendar.reserve(1, today, NINE));
+		assertThat(calendar.reserveFirstFree(1, today)).contains(LocalTime.of(12, 0));
+		assertThat(calendar.getFreeSlots(1, today)).hasSize(9).startsWith(LocalTime.of(12, 30));
+		assertThat(calendar.findNextFreeSlot(1, today.atTime(NINE))).contains(today.atTime(12, 30));
+	}
+
+	@Test
+	void shouldLoadBookedSlotsFromVisits() {
+		LocalDate date = LocalDate.now().plusDays(1);
+		this.jdbcTemplate.update("INSERT INTO visits (pet_id, visit_date, description, vet_id, start_time) "
+				+ "VALUES (1, ?, 'checkup', 1, ?)", date, LocalTime.of(9, 30));
+
+		assertThat(this.calendar.getFreeSlots(1, date)).hasSize(15).doesNotContain(LocalTime.of(9, 30));
+		assertThat(this.calendar.reserve(1, date, LocalTime.of(9, 30))).isFalse();
+		assertThat(this.calendar.getFreeSlots(2, date)).hasSize(16);
+	}
+
+	@Test
+	void shouldNotReserveSlotTwice() {
+		LocalDate date = LocalDate.now().plusDays(2);
+
+		assertThat(this.calendar.reserve(1, date, NINE)).isTrue();
+		assertThat(this.calendar.reserve(1, date, NINE)).isFalse();
+		assertThat(this.calendar.reserve(2, date, NINE)).isTrue();
+		assertThat(this.calendar.reserveFirstFree(1, date)).contains(LocalTime.of(9, 30));
+	}
+
+	@Test
+	void shouldFindNextFreeSlotOnFollowingDay() {
+		LocalDate date = LocalDate.now().plusDays(3);
+		while (this.calendar.reserveFirstFree(1, date).isPresent()) {
+			// book the whole day
+		}
+
+		assertThat(this.calendar.getFreeSlots(1, date)).isEmpty();
+		assertThat(this.calendar.findNextFreeSlot(1, date.atTime(10, 0))).contains(date.plusDays(1).atTime(NINE));
+		assertThat(this.calendar.findNextFreeSlot(2, date.atTime(10, 10))).contains(date.atTime(10, 30));
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void shouldReleaseSlotWhenTransactionRollsBack() {
+		LocalDate date = LocalDate.now().plusDays(4);
+
+		this.transactionTemplate.executeWithoutResult((status) -> {
+			assertThat(this.calendar.reserve(1, date, NINE)).isTrue();
+			status.setRollbackOnly();
+		});
+		assertThat(this.calendar.getFreeSlots(1, date)).contains(NINE);
+
+		this.transactionTemplate.executeWithoutResult((status) -> this.calendar.reserve(1, date, NINE));
+		assertThat(this.calendar.getFreeSlots(1, date)).doesNotContain(NINE);
+	}
+
+	@Test
+	void shouldBookSlotOnlyOnceUnderConcurrentReservations() throws Exception {
+		LocalDate date = LocalDate.now().plusDays(5);
+		List<Callable<Boolean>> bookings = new ArrayList<>();
+		for (int i = 0; i < 32; i++) {
+			bookings.add(() -> this.calendar.reserve(3, date, NINE));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			int booked = 0;
+			for (Future<Boolean> booking : executor.invokeAll(bookings)) {
+				booked += booking.get() ? 1 : 0;
+			}
+			assertThat(booked).isEqualTo(1);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+}
@@ -22,8 +22,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -31,6 +33,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -41,6 +45,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 
 @WebMvcTest(VetController.class)
+@Import({ VetRepresentations.class, VetIndex.class })
 @DisabledInNativeImage
 @DisabledInAotMode
 class VetControllerTests {
@@ -89,6 +94,16 @@ class VetControllerTests {
 
 	}
 
+	@Test
+	void testShowVetListHtmlFilteredBySpecialty() throws Exception {
+		mockMvc.perform(get("/vets.html").param("specialty", "radiology"))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("totalItems", 1L))
+			.andExpect(model().attribute("filter", "&specialty=radiology"))
+			.andExpect(content().string(containsString("Leary")))
+			.andExpect(content().string(not(containsString("Carter"))));
+	}
+
 	@Test
 	void testShowResourcesVetList() throws Exception {
 		ResultActions actions = mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON))
@@ -97,4 +112,52 @@ class VetControllerTests {
 			.andExpect(jsonPath("$.vetList[0].id").value(1));
 	}
 
+	@Test
+	void testShowResourcesVetListAsXml() throws Exception {
+		mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_XML))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_XML))
+			.andExpect(xpath("/vets/vetList[2]/lastName").string("Leary"))
+			.andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)));
+	}
+
+	@Test
+	void testShowResourcesVetListNotModified() throws Exception {
+		String etag = mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON))
+			.andExpect(header().exists(HttpHeaders.ETAG))
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+		mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_XML).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	void testShowResourcesVetListNotAcceptable() throws Exception {
+		mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_PDF)).andExpect(status().isNotAcceptable());
+	}
+
+	@Test
+	void testShowResourcesVetListAsCsv() throws Exception {
+		mockMvc.perform(get("/vets").accept("text/csv"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType("text/csv;charset=UTF-8"))
+			.andExpect(content().string("""
+					id,firstName,lastName,specialties
+					1,James,Carter,
+					2,Helen,Leary,radiology
+					"""));
+	}
+
+	@Test
+	void testShowResourcesVetListAsCbor() throws Exception {
+		mockMvc.perform(get("/vets").accept(MediaType.APPLICATION_CBOR))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+	}
+
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link VetIndex}.
+ */
+class VetIndexTests {
+
+	private final VetRepository vetRepository = mock(VetRepository.class);
+
+	private final VetIndex index = new VetIndex(this.vetRepository);
+
+	@BeforeEach
+	void setup() {
+		given(this.vetRepository.findAll()).willReturn(List.of(vet(4, "Rafael", "Ortega", "surgery"),
+				vet(1, "James", "Carter"), vet(2, "Helen", "Leary", "radiology"),
+				vet(3, "Linda", "Douglas", "surgery", "dentistry"), vet(5, "Henry", "Stevens", "radiology")));
+	}
+
+	@Test
+	void shouldListSpecialtyNames() {
+		assertThat(this.index.getSpecialtyNames()).containsExactly("dentistry", "radiology", "surgery");
+	}
+
+	@Test
+	void shouldFindAllVetsInOrderOfIds() {
+		Page<Vet> page = this.index.findVets(List.of(), "", PageRequest.of(0, 3));
+
+		assertThat(page.getContent()).extracting(Vet::getId).containsExactly(1, 2, 3);
+		assertThat(page.getTotalElements()).isEqualTo(5);
+		assertThat(page.getTotalPages()).isEqualTo(2);
+		assertThat(this.index.findVets(List.of(), "", PageRequest.of(1, 3)).getContent()).extracting(Vet::getId)
+			.containsExactly(4, 5);
+	}
+
+	@Test
+	void shouldFindVetsBySpecialty() {
+		assertThat(this.index.findVets(List.of("Surgery"), "", PageRequest.of(0, 5)).getContent())
+			.extracting(Vet::getId)
+			.containsExactly(3, 4);
+		assertThat(this.index.findVets(List.of("surgery", "dentistry"), "", PageRequest.of(0, 5)).getContent())
+			.extracting(Vet::getId)
+			.containsExactly(3);
+		assertThat(this.index.findVets(List.of("cardiology"), "", PageRequest.of(0, 5))).isEmpty();
+		assertThat(this.index.findVets(List.of(""), "", PageRequest.of(0, 5)).getTotalElements()).isEqualTo(5);
+	}
+
+	@Test
+	void shouldFindVetsByStartOfFirstOrLastName() {
+		assertThat(this.index.findVets(List.of(), "he", PageRequest.of(0, 5)).getContent()).extracting(Vet::getId)
+			.containsExactly(2, 5);
+		assertThat(this.index.findVets(List.of(), "Ort", PageRequest.of(0, 5)).getContent()).extracting(Vet::getId)
+			.containsExactly(4);
+		assertThat(this.index.findVets(List.of("radiology"), "ste", PageRequest.of(0, 5)).getContent())
+			.extracting(Vet::getId)
+			.containsExactly(5);
+	}
+
+	@Test
+	void shouldFindVetsAfterId() {
+		assertThat(this.index.findVetsAfter(null, "", 0, 2)).extracting(Vet::getId).containsExactly(1, 2);
+		assertThat(this.index.findVetsAfter(null, "", 2, 2)).extracting(Vet::getId).containsExactly(3, 4);
+		assertThat(this.index.findVetsAfter(List.of("radiology"), "", 2, 2)).extracting(Vet::getId).containsExactly(5);
+		assertThat(this.index.findVetsAfter(null, "", 5, 2)).isEmpty();
+	}
+
+	@Test
+	void shouldRebuildWhenCachedVetsChange() {
+		assertThat(this.index.findVets(Set.of("dentistry"), "", PageRequest.of(0, 5))).hasSize(1);
+
+		given(this.vetRepository.findAll())
+			.willReturn(List.of(vet(1, "James", "Carter", "dentistry"), vet(3, "Linda", "Douglas", "dentistry")));
+
+		assertThat(this.index.findVets(Set.of("dentistry"), "", PageRequest.of(0, 5))).hasSize(2);
+	}
+
+	private static Vet vet(int id, String firstName, String lastName, String... specialties) {
+		Vet vet = new Vet();
+		vet.setId(id);
+		vet.setFirstName(firstName);
+		vet.setLastName(lastName);
+		for (String name : specialties) {
+			Specialty specialty = new Specialty();
+			specialty.setName(name);
+			vet.addSpecialty(specialty);
+		}
+		return vet;
+	}
+
+}
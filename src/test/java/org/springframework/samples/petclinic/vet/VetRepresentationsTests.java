@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link VetRepresentations}.
+ */
+class VetRepresentationsTests {
+
+	private final VetRepository vetRepository = mock(VetRepository.class);
+
+	private final VetRepresentations representations = new VetRepresentations(this.vetRepository,
+			JsonMapper.builder().build());
+
+	@Test
+	void shouldRenderJsonAndXml() {
+		given(this.vetRepository.findAll()).willReturn(List.of(vet(1, "James", "Carter")));
+
+		VetRepresentations.Representation json = this.representations.render(MediaType.APPLICATION_JSON);
+		VetRepresentations.Representation xml = this.representations.render(MediaType.APPLICATION_XML);
+
+		assertThat(json.contentType()).isEqualTo(MediaType.APPLICATION_JSON);
+		assertThat(new String(json.body(), StandardCharsets.UTF_8)).contains("\"lastName\":\"Carter\"");
+		assertThat(xml.contentType()).isEqualTo(MediaType.APPLICATION_XML);
+		assertThat(new String(xml.body(), StandardCharsets.UTF_8)).contains("<lastName>Carter</lastName>");
+		assertThat(json.etag()).isNotEqualTo(xml.etag());
+	}
+
+	@Test
+	void shouldKeepETagWhileVetsAreUnchanged() {
+		given(this.vetRepository.findAll()).willReturn(List.of(vet(1, "James", "Carter")));
+		String etag = this.representations.render(MediaType.APPLICATION_JSON).etag();
+
+		assertThat(this.representations.render(MediaType.APPLICATION_JSON).etag()).isEqualTo(etag);
+
+		given(this.vetRepository.findAll()).willReturn(List.of(vet(1, "James", "Carter-Smith")));
+		assertThat(this.representations.render(MediaType.APPLICATION_JSON).etag()).isNotEqualTo(etag);
+	}
+
+	private static Vet vet(int id, String firstName, String lastName) {
+		Vet vet = new Vet();
+		vet.setId(id);
+		vet.setFirstName(firstName);
+		vet.setLastName(lastName);
+		return vet;
+	}
+
+	@Test
+	void shouldRenderBinaryFormatsOfTheJsonDocument() {
+		given(this.vetRepository.findAll()).willReturn(List.of(vet(1, "James", "Carter")));
+		byte[] json = this.representations.render(MediaType.APPLICATION_JSON).body();
+		byte[] cbor = this.representations.render(MediaType.APPLICATION_CBOR).body();
+		byte[] smile = this.representations.render(VetRepresentations.APPLICATION_SMILE).body();
+
+		JsonNode document = JsonMapper.builder().build().readTree(json);
+		assertThat(new CBORMapper().readTree(cbor)).isEqualTo(document);
+		assertThat(new SmileMapper().readTree(smile)).isEqualTo(document);
+		assertThat(cbor.length).isLessThan(json.length);
+	}
+
+	@Test
+	void shouldRenderOneCsvRowPerVet() {
+		Vet helen = vet(2, "Helen", "Leary");
+		helen.addSpecialty(specialty("surgery"));
+		helen.addSpecialty(specialty("radiology"));
+		given(this.vetRepository.findAll()).willReturn(List.of(vet(1, "James", "Carter"), helen));
+
+		VetRepresentations.Representation csv = this.representations.render(VetRepresentations.TEXT_CSV);
+
+		assertThat(csv.contentType().getCharset()).isEqualTo(StandardCharsets.UTF_8);
+		assertThat(new String(csv.body(), StandardCharsets.UTF_8)).isEqualTo("""
+				id,firstName,lastName,specialties
+				1,James,Carter,
+				2,Helen,Leary,"radiology surgery"
+				""");
+	}
+
+	private static Specialty specialty(String name) {
+		Specialty specialty = new Specialty();
+		specialty.setName(name);
+		return specialty;
+	}
+
+}